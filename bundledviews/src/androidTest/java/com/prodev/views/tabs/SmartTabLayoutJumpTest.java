@@ -0,0 +1,82 @@
+package com.prodev.views.tabs;
+
+import android.content.Context;
+import android.view.View;
+import android.view.ViewGroup;
+
+import androidx.recyclerview.widget.RecyclerView;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+import androidx.viewpager2.widget.ViewPager2;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import static org.junit.Assert.*;
+
+/**
+ * Checks that a direct tab jump keeps animating the indicator while the pager reports the
+ * states of the programmatic page change.
+ */
+@RunWith(AndroidJUnit4.class)
+public class SmartTabLayoutJumpTest {
+    @Test
+    public void directJump_survivesViewPager2SettlingState() {
+        InstrumentationRegistry.getInstrumentation().runOnMainSync(new Runnable() {
+            @Override
+            public void run() {
+                Context context = InstrumentationRegistry.getInstrumentation().getTargetContext();
+
+                ViewPager2 viewPager = new ViewPager2(context);
+                viewPager.setAdapter(new PageAdapter(5));
+
+                SmartTabLayout tabLayout = new SmartTabLayout(context);
+                tabLayout.setDirectTabJump(true);
+                tabLayout.setViewPager2(viewPager, new SmartTabLayout.PageTitleProvider() {
+                    @Override
+                    public CharSequence getPageTitle(int position) {
+                        return "Page " + position;
+                    }
+                });
+
+                View tabView = tabLayout.getTabAt(3);
+                assertNotNull(tabView);
+                tabView.performClick();
+
+                assertEquals(3, viewPager.getCurrentItem());
+                assertTrue(tabLayout.isScrolling());
+                assertEquals(3f, tabLayout.getMarkedTabPos(), 0f);
+            }
+        });
+    }
+
+    private static class PageAdapter extends RecyclerView.Adapter<PageHolder> {
+        private final int count;
+
+        PageAdapter(int count) {
+            this.count = count;
+        }
+
+        @Override
+        public PageHolder onCreateViewHolder(ViewGroup parent, int viewType) {
+            View view = new View(parent.getContext());
+            view.setLayoutParams(new ViewGroup.LayoutParams(ViewGroup.LayoutParams.MATCH_PARENT, ViewGroup.LayoutParams.MATCH_PARENT));
+            return new PageHolder(view);
+        }
+
+        @Override
+        public void onBindViewHolder(PageHolder holder, int position) {
+        }
+
+        @Override
+        public int getItemCount() {
+            return count;
+        }
+    }
+
+    private static class PageHolder extends RecyclerView.ViewHolder {
+        PageHolder(View itemView) {
+            super(itemView);
+        }
+    }
+}
@@ -0,0 +1,187 @@
+package com.prodev.views.tabs;
+
+import android.content.Context;
+import android.view.View;
+import android.view.ViewGroup;
+import android.widget.TextView;
+
+import com.prodev.views.tools.holder.ViewHolder;
+
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Checks that data changes keep the views of unchanged pages and bring the tabs into page order.
+ */
+@RunWith(AndroidJUnit4.class)
+public class SmartTabLayoutUpdateTest {
+    private SmartTabLayout tabLayout;
+    private TestPagerSource pagerSource;
+
+    @Before
+    public void setUp() {
+        Context context = InstrumentationRegistry.getInstrumentation().getTargetContext();
+
+        tabLayout = new SmartTabLayout(context);
+        pagerSource = new TestPagerSource(1, 2, 3, 4);
+        tabLayout.setPagerSource(pagerSource);
+    }
+
+    @Test
+    public void swap_keepsTabViews() {
+        HashMap<Long, View> tabViews = getTabViews();
+        pagerSource.setIds(2, 1, 3, 4);
+
+        assertTabs(tabViews, 2, 1, 3, 4);
+    }
+
+    @Test
+    public void move_keepsTabViews() {
+        HashMap<Long, View> tabViews = getTabViews();
+        pagerSource.setIds(2, 3, 4, 1);
+
+        assertTabs(tabViews, 2, 3, 4, 1);
+    }
+
+    @Test
+    public void insert_addsOnlyTheNewTab() {
+        HashMap<Long, View> tabViews = getTabViews();
+        pagerSource.setIds(1, 5, 2, 3, 4);
+
+        assertTabs(tabViews, 1, 5, 2, 3, 4);
+        assertFalse(tabViews.containsValue(tabLayout.getTabAt(1)));
+    }
+
+    @Test
+    public void bulkInsertAndMove_keepTabViews() {
+        HashMap<Long, View> tabViews = getTabViews();
+        pagerSource.setIds(5, 4, 6, 2, 7, 1, 8);
+
+        assertTabs(tabViews, 5, 4, 6, 2, 7, 1, 8);
+    }
+
+    @Test
+    public void remove_dropsOnlyTheRemovedTab() {
+        HashMap<Long, View> tabViews = getTabViews();
+        View removedTab = tabViews.get(2L);
+        pagerSource.setIds(1, 3, 4);
+
+        assertTabs(tabViews, 1, 3, 4);
+        assertNull(removedTab.getParent());
+    }
+
+    @Test
+    public void missingHolder_keepsTheFollowingTabs() {
+        final Context context = InstrumentationRegistry.getInstrumentation().getTargetContext();
+        tabLayout.setCustomTabView(new SmartTabLayout.TabProvider(context) {
+            @Override
+            protected ViewHolder createViewHolder(Integer key, Context context, ViewGroup parentView) {
+                return key == 1 ? null : super.createViewHolder(key, context, parentView);
+            }
+
+            @Override
+            protected View createHolder(Integer position, ViewGroup parentView) {
+                return new TextView(context);
+            }
+
+            @Override
+            protected void bindHolder(Integer position, View contentView) {
+            }
+        });
+        pagerSource.setIds(1, 2, 3, 4, 5);
+
+        assertEquals(4, tabLayout.getTabStrip().getChildCount());
+    }
+
+    private HashMap<Long, View> getTabViews() {
+        HashMap<Long, View> tabViews = new HashMap<>();
+        for (int pos = 0; pos < pagerSource.getCount(); pos++) {
+            tabViews.put(pagerSource.getItemId(pos), tabLayout.getTabAt(pos));
+        }
+        return tabViews;
+    }
+
+    private void assertTabs(HashMap<Long, View> oldTabViews, long... ids) {
+        for (int pos = 0; pos < ids.length; pos++) {
+            View tabView = tabLayout.getTabAt(pos);
+            assertNotNull(tabView);
+            assertEquals(pagerSource.getPageTitle(pos), ((TextView) tabView).getText().toString());
+
+            View oldTabView = oldTabViews.get(ids[pos]);
+            if (oldTabView != null)
+                assertSame(oldTabView, tabView);
+        }
+        assertNull(tabLayout.getTabAt(ids.length));
+    }
+
+    private static class TestPagerSource extends SmartTabLayout.PagerSource {
+        private final List<Long> ids = new ArrayList<>();
+
+        TestPagerSource(long... ids) {
+            for (long id : ids) this.ids.add(id);
+        }
+
+        void setIds(long... ids) {
+            this.ids.clear();
+            for (long id : ids) this.ids.add(id);
+            dispatchDataSetChanged();
+        }
+
+        @Override
+        public boolean hasAdapter() {
+            return true;
+        }
+
+        @Override
+        public int getCount() {
+            return ids.size();
+        }
+
+        @Override
+        public CharSequence getPageTitle(int position) {
+            return "Page " + ids.get(position);
+        }
+
+        @Override
+        public int getCurrentItem() {
+            return 0;
+        }
+
+        @Override
+        public void setCurrentItem(int item, boolean smoothScroll) {
+        }
+
+        @Override
+        public boolean hasStableIds() {
+            return true;
+        }
+
+        @Override
+        public long getItemId(int position) {
+            return ids.get(position);
+        }
+
+        @Override
+        public View getView() {
+            return null;
+        }
+
+        @Override
+        protected void onAttach() {
+        }
+
+        @Override
+        protected void onDetach() {
+        }
+    }
+}
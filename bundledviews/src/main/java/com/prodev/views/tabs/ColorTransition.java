@@ -0,0 +1,106 @@
+/**
+ * Copyright (C) 2015 ogaclejapan
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.prodev.views.tabs;
+
+/**
+ * Precomputed ARGB gradients between pairs of colors. Blending is done once per pair with
+ * integer math, optionally in linear light, so a transition at draw time is a table lookup.
+ */
+final class ColorTransition {
+
+    static final int DEFAULT_STEPS = 64;
+
+    private static final int LINEAR_SCALE = 4095;
+
+    private static int[] srgbToLinear;
+    private static int[] linearToSrgb;
+
+    private final int steps;
+    private final boolean linearLight;
+
+    ColorTransition(int steps, boolean linearLight) {
+        this.steps = Math.max(steps, 1);
+        this.linearLight = linearLight;
+        if (linearLight) ensureLinearTables();
+    }
+
+    int getSteps() {
+        return steps;
+    }
+
+    boolean isLinearLight() {
+        return linearLight;
+    }
+
+    int getStep(float fraction) {
+        if (fraction <= 0f) return 0;
+        if (fraction >= 1f) return steps;
+        return (int) (fraction * steps + 0.5f);
+    }
+
+    /**
+     * Fills {@code gradient} from {@code offset} with {@code steps + 1} colors going from
+     * {@code from} to {@code to}.
+     */
+    void fillGradient(int from, int to, int[] gradient, int offset) {
+        for (int step = 0; step <= steps; step++) {
+            gradient[offset + step] = blend(from, to, step);
+        }
+    }
+
+    int blend(int from, int to, int step) {
+        if (step <= 0 || from == to) return from;
+        if (step >= steps) return to;
+
+        final int inverse = steps - step;
+        final int half = steps / 2;
+
+        int a = ((from >>> 24) * inverse + (to >>> 24) * step + half) / steps;
+        int r = blendChannel((from >> 16) & 0xff, (to >> 16) & 0xff, step, inverse, half);
+        int g = blendChannel((from >> 8) & 0xff, (to >> 8) & 0xff, step, inverse, half);
+        int b = blendChannel(from & 0xff, to & 0xff, step, inverse, half);
+        return (a << 24) | (r << 16) | (g << 8) | b;
+    }
+
+    private int blendChannel(int from, int to, int step, int inverse, int half) {
+        if (!linearLight)
+            return (from * inverse + to * step + half) / steps;
+
+        int linear = (srgbToLinear[from] * inverse + srgbToLinear[to] * step + half) / steps;
+        return linearToSrgb[linear];
+    }
+
+    private static synchronized void ensureLinearTables() {
+        if (srgbToLinear != null) return;
+
+        int[] toLinear = new int[256];
+        for (int i = 0; i < 256; i++) {
+            double value = i / 255d;
+            double linear = value <= 0.04045 ? value / 12.92 : Math.pow((value + 0.055) / 1.055, 2.4);
+            toLinear[i] = (int) Math.round(linear * LINEAR_SCALE);
+        }
+
+        int[] toSrgb = new int[LINEAR_SCALE + 1];
+        for (int i = 0; i <= LINEAR_SCALE; i++) {
+            double linear = (double) i / LINEAR_SCALE;
+            double value = linear <= 0.0031308 ? linear * 12.92 : 1.055 * Math.pow(linear, 1 / 2.4) - 0.055;
+            toSrgb[i] = (int) Math.round(Math.min(Math.max(value, 0d), 1d) * 255);
+        }
+
+        linearToSrgb = toSrgb;
+        srgbToLinear = toLinear;
+    }
+}
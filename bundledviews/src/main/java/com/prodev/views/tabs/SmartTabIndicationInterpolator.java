@@ -24,9 +24,19 @@ public abstract class SmartTabIndicationInterpolator {
 
     public static final SmartTabIndicationInterpolator SMART = new SmartIndicationInterpolator();
     public static final SmartTabIndicationInterpolator LINEAR = new LinearIndicationInterpolator();
+    public static final SmartTabIndicationInterpolator SPRING = new SpringIndicationInterpolator();
+    public static final SmartTabIndicationInterpolator CUBIC_BEZIER = new CubicBezierIndicationInterpolator();
+
+    public static final int DEFAULT_RESOLUTION = 128;
 
     static final int ID_SMART = 0;
     static final int ID_LINEAR = 1;
+    static final int ID_SPRING = 2;
+    static final int ID_CUBIC_BEZIER = 3;
+
+    private static final SmartTabIndicationInterpolator COMPILED_SMART = compile(SMART);
+    private static final SmartTabIndicationInterpolator COMPILED_SPRING = compile(SPRING);
+    private static final SmartTabIndicationInterpolator COMPILED_CUBIC_BEZIER = compile(CUBIC_BEZIER);
 
     public static SmartTabIndicationInterpolator of(int id) {
         switch (id) {
@@ -34,11 +44,69 @@ public abstract class SmartTabIndicationInterpolator {
                 return SMART;
             case ID_LINEAR:
                 return LINEAR;
+            case ID_SPRING:
+                return SPRING;
+            case ID_CUBIC_BEZIER:
+                return CUBIC_BEZIER;
+            default:
+                throw new IllegalArgumentException("Unknown id: " + id);
+        }
+    }
+
+    /**
+     * Returns the shared lookup table version of the built-in interpolator for the given
+     * {@code stl_indicatorInterpolation} id, precomputed with {@link #DEFAULT_RESOLUTION} samples.
+     */
+    static SmartTabIndicationInterpolator compiled(int id) {
+        switch (id) {
+            case ID_SMART:
+                return COMPILED_SMART;
+            case ID_LINEAR:
+                return LINEAR;
+            case ID_SPRING:
+                return COMPILED_SPRING;
+            case ID_CUBIC_BEZIER:
+                return COMPILED_CUBIC_BEZIER;
+            default:
+                throw new IllegalArgumentException("Unknown id: " + id);
+        }
+    }
+
+    /**
+     * Returns the built-in interpolator for the given id, precomputed with the given resolution.
+     */
+    public static SmartTabIndicationInterpolator of(int id, int resolution) {
+        switch (id) {
+            case ID_SMART:
+                return compile(SMART, resolution);
+            case ID_LINEAR:
+                return LINEAR;
+            case ID_SPRING:
+                return compile(SPRING, resolution);
+            case ID_CUBIC_BEZIER:
+                return compile(CUBIC_BEZIER, resolution);
             default:
                 throw new IllegalArgumentException("Unknown id: " + id);
         }
     }
 
+    public static SmartTabIndicationInterpolator compile(SmartTabIndicationInterpolator interpolator) {
+        return compile(interpolator, DEFAULT_RESOLUTION);
+    }
+
+    /**
+     * Samples the edges and the thickness of the given interpolator into lookup tables, so that
+     * each call afterwards is a linear interpolation between two precomputed values.
+     */
+    public static SmartTabIndicationInterpolator compile(SmartTabIndicationInterpolator interpolator, int resolution) {
+        if (interpolator == null)
+            throw new NullPointerException("No interpolator given");
+        if (interpolator instanceof CompiledIndicationInterpolator &&
+                ((CompiledIndicationInterpolator) interpolator).getResolution() == resolution)
+            return interpolator;
+        return new CompiledIndicationInterpolator(interpolator, resolution);
+    }
+
     public abstract float getLeftEdge(float offset);
 
     public abstract float getRightEdge(float offset);
@@ -93,4 +161,177 @@ public abstract class SmartTabIndicationInterpolator {
         }
 
     }
+
+    public static class SpringIndicationInterpolator extends SmartTabIndicationInterpolator {
+
+        private static final float DEFAULT_DAMPING = 6.0f;
+        private static final float DEFAULT_FREQUENCY = 9.0f;
+
+        private final float damping;
+        private final float frequency;
+        private final float endValue;
+
+        public SpringIndicationInterpolator() {
+            this(DEFAULT_DAMPING, DEFAULT_FREQUENCY);
+        }
+
+        public SpringIndicationInterpolator(float damping, float frequency) {
+            this.damping = damping;
+            this.frequency = frequency;
+            this.endValue = spring(1f);
+        }
+
+        private float spring(float offset) {
+            return 1f - (float) (Math.exp(-damping * offset) * Math.cos(frequency * offset));
+        }
+
+        @Override
+        public float getLeftEdge(float offset) {
+            // The trailing edge follows smoothly without overshooting
+            return offset * offset * (3f - 2f * offset);
+        }
+
+        @Override
+        public float getRightEdge(float offset) {
+            // The leading edge overshoots and settles exactly on the target
+            return spring(offset) + (1f - endValue) * offset;
+        }
+
+        @Override
+        public float getThickness(float offset) {
+            return 1f / Math.max(1.0f - getLeftEdge(offset) + getRightEdge(offset), 0.5f);
+        }
+
+    }
+
+    public static class CubicBezierIndicationInterpolator extends SmartTabIndicationInterpolator {
+
+        private static final int NEWTON_ITERATIONS = 8;
+        private static final float EPSILON = 1e-5f;
+
+        private final float x1;
+        private final float y1;
+        private final float x2;
+        private final float y2;
+
+        public CubicBezierIndicationInterpolator() {
+            this(0.25f, 0.1f, 0.25f, 1.0f);
+        }
+
+        public CubicBezierIndicationInterpolator(float x1, float y1, float x2, float y2) {
+            this.x1 = Math.min(Math.max(x1, 0f), 1f);
+            this.y1 = y1;
+            this.x2 = Math.min(Math.max(x2, 0f), 1f);
+            this.y2 = y2;
+        }
+
+        private static float bezier(float t, float p1, float p2) {
+            float u = 1f - t;
+            return 3f * u * u * t * p1 + 3f * u * t * t * p2 + t * t * t;
+        }
+
+        private static float bezierSlope(float t, float p1, float p2) {
+            float u = 1f - t;
+            return 3f * u * u * p1 + 6f * u * t * (p2 - p1) + 3f * t * t * (1f - p2);
+        }
+
+        private float solve(float x) {
+            if (x <= 0f) return 0f;
+            if (x >= 1f) return 1f;
+
+            float t = x;
+            for (int i = 0; i < NEWTON_ITERATIONS; i++) {
+                float error = bezier(t, x1, x2) - x;
+                if (Math.abs(error) < EPSILON) return bezier(t, y1, y2);
+
+                float slope = bezierSlope(t, x1, x2);
+                if (Math.abs(slope) < EPSILON) break;
+                t -= error / slope;
+            }
+
+            // Fall back to bisection if Newton's method did not converge
+            float low = 0f;
+            float high = 1f;
+            t = x;
+            while (high - low > EPSILON) {
+                float value = bezier(t, x1, x2);
+                if (Math.abs(value - x) < EPSILON) break;
+                if (value < x) low = t;
+                else high = t;
+                t = (low + high) / 2f;
+            }
+            return bezier(t, y1, y2);
+        }
+
+        @Override
+        public float getLeftEdge(float offset) {
+            return 1f - solve(1f - offset);
+        }
+
+        @Override
+        public float getRightEdge(float offset) {
+            return solve(offset);
+        }
+
+        @Override
+        public float getThickness(float offset) {
+            return 1f / (1.0f - getLeftEdge(offset) + getRightEdge(offset));
+        }
+
+    }
+
+    public static class CompiledIndicationInterpolator extends SmartTabIndicationInterpolator {
+
+        private final int resolution;
+        private final float[] leftEdges;
+        private final float[] rightEdges;
+        private final float[] thicknesses;
+
+        public CompiledIndicationInterpolator(SmartTabIndicationInterpolator source, int resolution) {
+            if (resolution < 1)
+                throw new IllegalArgumentException("Resolution must be positive: " + resolution);
+
+            this.resolution = resolution;
+            this.leftEdges = new float[resolution + 1];
+            this.rightEdges = new float[resolution + 1];
+            this.thicknesses = new float[resolution + 1];
+
+            for (int i = 0; i <= resolution; i++) {
+                float offset = (float) i / resolution;
+                leftEdges[i] = source.getLeftEdge(offset);
+                rightEdges[i] = source.getRightEdge(offset);
+                thicknesses[i] = source.getThickness(offset);
+            }
+        }
+
+        public int getResolution() {
+            return resolution;
+        }
+
+        private float lookup(float[] table, float offset) {
+            if (offset <= 0f) return table[0];
+            if (offset >= 1f) return table[resolution];
+
+            float position = offset * resolution;
+            int index = (int) position;
+            float fraction = position - index;
+            return table[index] + (table[index + 1] - table[index]) * fraction;
+        }
+
+        @Override
+        public float getLeftEdge(float offset) {
+            return lookup(leftEdges, offset);
+        }
+
+        @Override
+        public float getRightEdge(float offset) {
+            return lookup(rightEdges, offset);
+        }
+
+        @Override
+        public float getThickness(float offset) {
+            return lookup(thicknesses, offset);
+        }
+
+    }
 }
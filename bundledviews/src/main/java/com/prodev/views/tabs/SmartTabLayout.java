@@ -16,10 +16,14 @@
  */
 package com.prodev.views.tabs;
 
+import android.animation.Animator;
+import android.animation.AnimatorListenerAdapter;
+import android.animation.ValueAnimator;
 import android.annotation.SuppressLint;
 import android.content.Context;
 import android.content.res.ColorStateList;
 import android.content.res.TypedArray;
+import android.database.DataSetObserver;
 import android.graphics.Typeface;
 import android.os.Build;
 import androidx.annotation.IdRes;
@@ -28,11 +32,14 @@ import androidx.annotation.Nullable;
 import androidx.fragment.app.Fragment;
 import androidx.viewpager.widget.PagerAdapter;
 import androidx.core.view.ViewCompat;
+import androidx.recyclerview.widget.RecyclerView;
 import androidx.viewpager.widget.ViewPager;
+import androidx.viewpager2.widget.ViewPager2;
 
 import android.util.AttributeSet;
 import android.util.DisplayMetrics;
 import android.util.TypedValue;
+import android.view.Choreographer;
 import android.view.Gravity;
 import android.view.View;
 import android.view.ViewGroup;
@@ -43,10 +50,15 @@ import android.widget.TextView;
 
 import com.prodev.views.R;
 import com.prodev.views.tabs.provider.SimpleTabProvider;
+import com.prodev.views.tools.holder.HolderErrorPolicy;
+import com.prodev.views.tools.holder.RecycledViewPool;
+import com.prodev.views.tools.holder.ViewHolder;
 import com.prodev.views.tools.holder.ViewsHolder;
 
-import java.util.ArrayList;
-import java.util.Iterator;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
 
 /**
  * To be used with ViewPager to provide a tab indicator component which give constant feedback as
@@ -57,7 +69,8 @@ import java.util.Iterator;
  * {@link android.app.Activity} or {@link Fragment} call
  * {@link #setViewPager(ViewPager)} providing it the ViewPager this
  * layout
- * is being used for.
+ * is being used for. A {@link ViewPager2} is bound with {@link #setViewPager2(ViewPager2)}, any
+ * other pager with {@link #setPagerSource(PagerSource)}.
  * <p>
  * The colors can be customized in two ways. The first and simplest is to provide an array of
  * colors
@@ -79,6 +92,11 @@ public class SmartTabLayout extends HorizontalScrollView implements ViewTreeObse
     private static final int TAB_VIEW_TEXT_COLOR = 0xFC000000;
     private static final int TAB_VIEW_TEXT_MIN_WIDTH = 0;
     private static final boolean TAB_CLICKABLE = true;
+    private static final boolean DEFAULT_ASYNC_TAB_CREATION = false;
+    private static final boolean DEFAULT_COALESCE_PAGE_SCROLL = false;
+    private static final boolean DEFAULT_DIRECT_TAB_JUMP = false;
+    private static final long TAB_JUMP_DURATION_MS = 250L;
+    private static final int VIRTUAL_TAB_POOL_SIZE = 16;
 
     private boolean appliedOnce;
 
@@ -95,13 +113,22 @@ public class SmartTabLayout extends HorizontalScrollView implements ViewTreeObse
     private float tabViewTextSize;
     private int tabViewTextHorizontalPadding;
     private int tabViewTextMinWidth;
-    private ViewPager viewPager;
+    private PagerSource pagerSource;
     private ViewPager.OnPageChangeListener viewPagerPageChangeListener;
     private OnScrollChangeListener onScrollChangeListener;
     private TabProvider tabProvider;
     private InternalTabClickListener internalTabClickListener;
     private OnTabClickListener onTabClickListener;
     private boolean distributeEvenly;
+    private boolean asyncTabCreation;
+    private boolean coalescePageScroll;
+    private boolean directTabJump;
+
+    private int tabStripGeneration;
+    private int pendingTabCount;
+    private int boundTabCount;
+    private long[] boundTabIds = new long[0];
+    private int selectedTabPosition = -1;
 
     private InternalChangeListener internalChangeListener;
 
@@ -115,6 +142,9 @@ public class SmartTabLayout extends HorizontalScrollView implements ViewTreeObse
 
     private Float scrollNeededToTapPos;
 
+    private ValueAnimator tabJumpAnimator;
+    private int tabJumpTarget = -1;
+
     public SmartTabLayout(Context context) {
         this(context, null);
     }
@@ -143,6 +173,9 @@ public class SmartTabLayout extends HorizontalScrollView implements ViewTreeObse
         int customTabLayoutId = NO_ID;
         int customTabTextViewId = NO_ID;
         boolean clickable = TAB_CLICKABLE;
+        boolean asyncTabCreation = DEFAULT_ASYNC_TAB_CREATION;
+        boolean coalescePageScroll = DEFAULT_COALESCE_PAGE_SCROLL;
+        boolean directTabJump = DEFAULT_DIRECT_TAB_JUMP;
 
         TypedArray a = context.obtainStyledAttributes(
                 attrs, R.styleable.stl_SmartTabLayout, defStyle, 0);
@@ -166,6 +199,12 @@ public class SmartTabLayout extends HorizontalScrollView implements ViewTreeObse
                 R.styleable.stl_SmartTabLayout_stl_distributeEvenly, distributeEvenly);
         clickable = a.getBoolean(
                 R.styleable.stl_SmartTabLayout_stl_clickable, clickable);
+        asyncTabCreation = a.getBoolean(
+                R.styleable.stl_SmartTabLayout_stl_asyncTabCreation, asyncTabCreation);
+        coalescePageScroll = a.getBoolean(
+                R.styleable.stl_SmartTabLayout_stl_coalescePageScroll, coalescePageScroll);
+        directTabJump = a.getBoolean(
+                R.styleable.stl_SmartTabLayout_stl_directTabJump, directTabJump);
         a.recycle();
 
         this.tabViewBackgroundResId = tabBackgroundResId;
@@ -178,17 +217,25 @@ public class SmartTabLayout extends HorizontalScrollView implements ViewTreeObse
         this.tabViewTextMinWidth = textMinWidth;
         this.internalTabClickListener = clickable ? new InternalTabClickListener() : null;
         this.distributeEvenly = distributeEvenly;
+        this.asyncTabCreation = asyncTabCreation;
+        this.coalescePageScroll = coalescePageScroll;
+        this.directTabJump = directTabJump;
 
         if (customTabLayoutId != NO_ID) {
             setCustomTabView(customTabLayoutId, customTabTextViewId);
         }
 
         this.tabStrip = new SmartTabStrip(context, attrs);
+        this.tabStrip.setVirtualTabSource(new InternalTabSource());
 
         if (distributeEvenly && tabStrip.isIndicatorAlwaysInCenter()) {
             throw new UnsupportedOperationException(
                     "'distributeEvenly' and 'indicatorAlwaysInCenter' both use does not support");
         }
+        if (distributeEvenly && tabStrip.isVirtualized()) {
+            throw new UnsupportedOperationException(
+                    "'distributeEvenly' and 'virtualizeTabs' both use does not support");
+        }
 
         // Make sure that the Tab Strips fills this View
         setFillViewport(!tabStrip.isIndicatorAlwaysInCenter());
@@ -233,6 +280,8 @@ public class SmartTabLayout extends HorizontalScrollView implements ViewTreeObse
     protected void onScrollChanged(int l, int t, int oldl, int oldt) {
         super.onScrollChanged(l, t, oldl, oldt);
 
+        tabStrip.onParentScrollChanged();
+
         if (onScrollChangeListener != null) {
             onScrollChangeListener.onScrollChanged(l, oldl);
         }
@@ -260,7 +309,7 @@ public class SmartTabLayout extends HorizontalScrollView implements ViewTreeObse
     }
 
     public boolean updateScrollLayout(boolean changed) {
-        int tabAmount = tabStrip != null ? tabStrip.getChildCount() : 0;
+        int tabAmount = tabStrip != null ? tabStrip.getTabCount() : 0;
 
         int width = getWidth();
         int height = getHeight();
@@ -311,15 +360,15 @@ public class SmartTabLayout extends HorizontalScrollView implements ViewTreeObse
     }
 
     private void updateScrollLayout(int width) {
-        if (tabStrip == null || tabStrip.getChildCount() <= 0) return;
+        if (tabStrip == null || tabStrip.getTabCount() <= 0) return;
 
         try {
             if (tabStrip.isIndicatorAlwaysInCenter()) {
-                View firstTab = tabStrip.getChildAt(0);
-                View lastTab = tabStrip.getChildAt(tabStrip.getChildCount() - 1);
+                int firstTab = 0;
+                int lastTab = tabStrip.getTabCount() - 1;
 
-                float firstOffset = ((float) Utils.getWidth(firstTab) / 2f) + (float) Utils.getMarginStart(firstTab);
-                float lastOffset = ((float) Utils.getWidth(lastTab) / 2f) + (float) Utils.getMarginEnd(lastTab);
+                float firstOffset = ((float) tabStrip.getTabWidth(firstTab) / 2f) + (float) tabStrip.getTabMarginStart(firstTab);
+                float lastOffset = ((float) tabStrip.getTabWidth(lastTab) / 2f) + (float) tabStrip.getTabMarginEnd(lastTab);
 
                 int start = (int) (((float) width / 2f) - firstOffset);
                 int end = (int) (((float) width / 2f) - lastOffset);
@@ -388,6 +437,124 @@ public class SmartTabLayout extends HorizontalScrollView implements ViewTreeObse
         this.distributeEvenly = distributeEvenly;
     }
 
+    /**
+     * Inflate tab views on a worker thread. Each tab is bound and added to the strip on the
+     * main thread as soon as its view is ready.
+     */
+    public void setAsyncTabCreation(boolean asyncTabCreation) {
+        this.asyncTabCreation = asyncTabCreation;
+    }
+
+    public boolean isAsyncTabCreation() {
+        return asyncTabCreation;
+    }
+
+    /**
+     * Coalesce page scroll callbacks within a frame. The first callback of a frame is applied
+     * right away, of the ones following it only the latest position and offset are kept. They
+     * are applied from the next frame callback, and only if they differ from the applied ones,
+     * so the strip, the scroll position and the page change listener see them at most one
+     * frame later.
+     */
+    public void setCoalescePageScroll(boolean coalescePageScroll) {
+        this.coalescePageScroll = coalescePageScroll;
+        if (!coalescePageScroll && internalChangeListener != null)
+            internalChangeListener.flushPageScroll();
+    }
+
+    public boolean isCoalescePageScroll() {
+        return coalescePageScroll;
+    }
+
+    /**
+     * Switch pages without smooth paging when a tab is clicked. Only the indicator and the
+     * strip scroll are animated towards the clicked tab, so the pages in between are never
+     * instantiated.
+     */
+    public void setDirectTabJump(boolean directTabJump) {
+        this.directTabJump = directTabJump;
+    }
+
+    public boolean isDirectTabJump() {
+        return directTabJump;
+    }
+
+    /**
+     * Only create views for the tabs near the visible scroll window. The remaining tabs are
+     * represented by their cached widths, and their views are recycled while scrolling.
+     * Tabs are always created synchronously in this mode.
+     */
+    public synchronized void setVirtualizeTabs(boolean virtualizeTabs) {
+        if (virtualizeTabs && distributeEvenly) {
+            throw new UnsupportedOperationException(
+                    "'distributeEvenly' and 'virtualizeTabs' both use does not support");
+        }
+        if (tabStrip.isVirtualized() == virtualizeTabs) return;
+
+        tabStrip.setVirtualized(virtualizeTabs);
+        if (tabProvider != null) {
+            tabProvider.clearViewHolders(true);
+            applyVirtualTabPool(tabProvider);
+        }
+
+        pendingTabCount = 0;
+        tabStripGeneration++;
+
+        if (pagerSource != null && pagerSource.hasAdapter()) {
+            updateTabStrip();
+            scrollNeeded();
+        }
+    }
+
+    public boolean isVirtualizeTabs() {
+        return tabStrip.isVirtualized();
+    }
+
+    /**
+     * Record the overline and underline once and replay them on every frame, so that only the
+     * indicator and the visible dividers are drawn per frame. The recording is refreshed after
+     * a layout pass or a color change.
+     */
+    public void setCacheDecorations(boolean cacheDecorations) {
+        tabStrip.setCacheDecorations(cacheDecorations);
+    }
+
+    public boolean isCacheDecorations() {
+        return tabStrip.isCacheDecorations();
+    }
+
+    /**
+     * Blend indicator colors in linear light instead of gamma encoded sRGB while scrolling
+     * between tabs of different colors.
+     */
+    public void setLinearColorBlending(boolean linearColorBlending) {
+        tabStrip.setLinearColorBlending(linearColorBlending);
+    }
+
+    public boolean isLinearColorBlending() {
+        return tabStrip.isLinearColorBlending();
+    }
+
+    /**
+     * Render the indicator into its own layer in the strip overlay. Page scrolls then only move
+     * and scale that layer instead of redrawing the strip, the indicator is always drawn above
+     * the tabs in this mode. Requires API 18, older versions keep drawing it with the strip.
+     */
+    public void setIndicatorLayer(boolean indicatorLayer) {
+        tabStrip.setIndicatorLayer(indicatorLayer);
+    }
+
+    public boolean isIndicatorLayer() {
+        return tabStrip.isIndicatorLayer();
+    }
+
+    private void applyVirtualTabPool(TabProvider provider) {
+        if (provider != null && tabStrip.isVirtualized() &&
+                provider.getRecycledViewPool() != null &&
+                provider.getRecycledViewPool().getMaxRecycledViews(0) < VIRTUAL_TAB_POOL_SIZE)
+            provider.setMaxRecycledViews(0, VIRTUAL_TAB_POOL_SIZE);
+    }
+
     /**
      * Sets the colors to be used for indicating the selected tab. These colors are treated as a
      * circular array. Providing one color will mean that all tabs are indicated with the same color.
@@ -463,7 +630,13 @@ public class SmartTabLayout extends HorizontalScrollView implements ViewTreeObse
     }
 
     public synchronized void setCustomTabView(TabProvider provider, boolean update) {
+        if (tabStrip != null && tabStrip.isVirtualized()) {
+            tabStrip.removeAllTabs();
+            tabStrip.setVirtualTabCount(0);
+        }
+
         tabProvider = provider;
+        applyVirtualTabPool(tabProvider);
 
         if (update) {
             if (tabProvider != null) {
@@ -471,7 +644,7 @@ public class SmartTabLayout extends HorizontalScrollView implements ViewTreeObse
             } else {
                 try {
                     if (tabStrip != null)
-                        tabStrip.removeAllViews();
+                        tabStrip.removeAllTabs();
                 } catch (Exception e) {
                 }
             }
@@ -483,35 +656,67 @@ public class SmartTabLayout extends HorizontalScrollView implements ViewTreeObse
      * (number of tabs and tab titles) does not change after this call has been made.
      */
     public synchronized void setViewPager(ViewPager viewPager) {
-        if (this.viewPager != viewPager) {
+        if (pagerSource instanceof ViewPagerSource && pagerSource.getView() == viewPager) {
+            setPagerSource(pagerSource);
+            return;
+        }
+        setPagerSource(viewPager != null ? new ViewPagerSource(viewPager) : null);
+    }
+
+    /**
+     * Sets the associated {@link ViewPager2}. Its adapter may implement
+     * {@link PageTitleProvider} to provide the tab titles.
+     */
+    public synchronized void setViewPager2(ViewPager2 viewPager) {
+        if (pagerSource instanceof ViewPager2Source && pagerSource.getView() == viewPager) {
+            setPagerSource(pagerSource);
+            return;
+        }
+        setPagerSource(viewPager != null ? new ViewPager2Source(viewPager) : null);
+    }
+
+    public synchronized void setViewPager2(ViewPager2 viewPager, PageTitleProvider titleProvider) {
+        setPagerSource(viewPager != null ? new ViewPager2Source(viewPager, titleProvider) : null);
+    }
+
+    /**
+     * Sets the pager the tabs are bound to. Setting the current source again only refreshes
+     * the tabs.
+     */
+    public synchronized void setPagerSource(PagerSource pagerSource) {
+        if (this.pagerSource != pagerSource) {
             try {
                 if (tabStrip != null)
-                    tabStrip.removeAllViews();
+                    tabStrip.removeAllTabs();
             } catch (Exception e) {
             }
 
             if (internalChangeListener == null)
                 internalChangeListener = new InternalChangeListener();
 
-            if (this.viewPager != null) {
-                this.viewPager.removeOnPageChangeListener(internalChangeListener);
-                this.viewPager.removeOnAdapterChangeListener(internalChangeListener);
+            if (this.pagerSource != null) {
+                cancelTabJump();
+                internalChangeListener.cancelPageScroll();
+                this.pagerSource.detach();
             }
 
-            this.viewPager = viewPager;
+            this.pagerSource = pagerSource;
 
-            if (this.viewPager != null) {
-                this.viewPager.addOnPageChangeListener(internalChangeListener);
-                this.viewPager.addOnAdapterChangeListener(internalChangeListener);
+            if (this.pagerSource != null) {
+                this.pagerSource.attach(internalChangeListener);
             }
         }
 
-        if (this.viewPager != null && this.viewPager.getAdapter() != null) {
+        if (this.pagerSource != null && this.pagerSource.hasAdapter()) {
             updateTabStrip();
             scrollNeeded();
         }
     }
 
+    public PagerSource getPagerSource() {
+        return pagerSource;
+    }
+
     public void layoutUpdateNeeded() {
         this.layoutUpdateNeeded = true;
         requestLayout();
@@ -535,27 +740,23 @@ public class SmartTabLayout extends HorizontalScrollView implements ViewTreeObse
      * tabs
      */
     public synchronized View getTabAt(int position) {
-        return tabStrip.getChildAt(position);
+        return tabStrip.getTabView(position);
     }
 
     public synchronized boolean isUpdateRequired() {
-        final PagerAdapter adapter = viewPager != null ? viewPager.getAdapter() : null;
-
-        int tabCount = adapter != null ? adapter.getCount() : 0;
-        int viewCount = tabStrip.getChildCount();
+        int tabCount = pagerSource != null ? pagerSource.getCount() : 0;
+        int viewCount = tabStrip.getTabCount() + pendingTabCount;
 
         return tabCount != viewCount;
     }
 
     public synchronized void updateTabStrip() {
-        final PagerAdapter adapter = viewPager != null ? viewPager.getAdapter() : null;
-
         if (tabStrip == null) {
             return;
         }
         if (tabProvider == null) {
             try {
-                tabStrip.removeAllViews();
+                tabStrip.removeAllTabs();
             } catch (Exception e) {
             }
         }
@@ -563,57 +764,273 @@ public class SmartTabLayout extends HorizontalScrollView implements ViewTreeObse
         tabProvider.setParentView(tabStrip);
         tabProvider.setData(this, false);
 
-        int tabCount = adapter != null ? adapter.getCount() : 0;
-        int viewCount = tabStrip.getChildCount();
+        int tabCount = pagerSource != null ? pagerSource.getCount() : 0;
+        int viewCount = tabStrip.getTabCount() + pendingTabCount;
 
-        if (tabCount != viewCount) {
-            ArrayList<Integer> tabPositionList = new ArrayList<>();
-            for (int pos = 0; pos < tabCount; pos++) tabPositionList.add(pos);
+        if (tabStrip.isVirtualized()) {
+            if (tabCount != viewCount) {
+                tabStrip.removeAllTabs();
+                tabProvider.clearViewHolders(true);
+                tabStrip.setVirtualTabCount(tabCount);
+            }
+        } else {
+            final boolean stableIds = pagerSource != null && pagerSource.hasStableIds();
+            final long[] tabIds = stableIds ? getTabIds(tabCount) : null;
+
+            if (pendingTabCount == 0 && boundTabCount > 0 && tabStrip.getTabCount() == boundTabCount) {
+                // Only the inserted, removed and moved tabs are touched
+                if (tabCount != viewCount || (stableIds && !Arrays.equals(tabIds, boundTabIds)))
+                    updateTabsIncrementally(tabCount, tabIds);
+            } else if (tabCount != viewCount) {
+                rebuildTabs(tabCount);
+            }
 
-            tabProvider.setKeys(tabPositionList, true, false);
+            boundTabCount = tabCount;
+            boundTabIds = tabIds != null ? tabIds : new long[0];
+        }
 
-            try {
-                tabStrip.removeAllViews();
-                for (int pos = 0; pos < tabCount; pos++) {
-                    final View tabView = tabProvider.getContentView(pos);
-                    if (tabView == null) continue;
+        try {
+            if (pagerSource != null) {
+                int selectedTabIndex = pagerSource.getCurrentItem();
 
-                    if (distributeEvenly) {
-                        LinearLayout.LayoutParams lp = (LinearLayout.LayoutParams) tabView.getLayoutParams();
-                        lp.width = 0;
-                        lp.weight = 1;
+                if (selectedTabIndex >= 0) {
+                    for (int i = 0, size = tabStrip.getChildCount(); i < size; i++) {
+                        final View tabView = tabStrip.getChildAt(i);
+                        tabView.setSelected(tabStrip.getTabPosition(tabView) == selectedTabIndex);
                     }
+                }
+                selectedTabPosition = selectedTabIndex;
+            }
+        } catch (Exception e) {
+        }
 
-                    if (internalTabClickListener != null) {
-                        tabView.setOnClickListener(internalTabClickListener);
-                        tabView.setOnLongClickListener(internalTabClickListener);
-                    }
+        tabProvider.setData(this, true);
 
-                    tabStrip.addView(tabView);
-                }
-            } catch (Exception e) {
+        requestLayout();
+    }
+
+    private long[] getTabIds(int tabCount) {
+        long[] tabIds = new long[tabCount];
+        for (int pos = 0; pos < tabCount; pos++) {
+            tabIds[pos] = pagerSource.getItemId(pos);
+        }
+        return tabIds;
+    }
+
+    private void rebuildTabs(int tabCount) {
+        final int generation = ++tabStripGeneration;
+        pendingTabCount = 0;
+
+        tabProvider.setKeyCount(tabCount, !asyncTabCreation, false);
+
+        try {
+            tabStrip.removeAllTabs();
+            for (int pos = 0; pos < tabCount; pos++) {
+                addTab(generation, pos);
             }
+        } catch (Exception e) {
+            tabProvider.handleUpdateError(e);
         }
+    }
+
+    private void updateTabsIncrementally(int tabCount, long[] tabIds) {
+        final int oldTabCount = boundTabCount;
+        final int[] keyMap = mapTabPositions(oldTabCount, boundTabIds, tabCount, tabIds);
 
         try {
-            if (viewPager != null) {
-                int selectedTabIndex = viewPager.getCurrentItem();
+            // Kept tabs are collected by their new position, the tags are rewritten below
+            final View[] tabViews = new View[tabCount];
+            for (int i = tabStrip.getChildCount() - 1; i >= 0; i--) {
+                View tabView = tabStrip.getChildAt(i);
+                int oldPos = tabStrip.getTabPosition(tabView);
+                int pos = oldPos >= 0 && oldPos < oldTabCount ? keyMap[oldPos] : -1;
+
+                if (pos < 0) {
+                    tabStrip.removeViewAt(i);
+                } else {
+                    prepareTabView(pos, tabView);
+                    tabViews[pos] = tabView;
+                }
+            }
 
-                if (selectedTabIndex >= 0) {
-                    for (int pos = 0; pos < tabCount; pos++) {
-                        final View tabView = tabProvider.getContentView(pos);
-                        if (tabView == null) continue;
+            tabProvider.moveTabs(keyMap);
 
-                        tabView.setSelected(pos == selectedTabIndex);
-                    }
+            // Walk the tabs in position order, only the new and out of order tabs are reattached
+            final int generation = ++tabStripGeneration;
+            int index = 0;
+            for (int pos = 0; pos < tabCount; pos++) {
+                View tabView = tabViews[pos];
+                if (tabView == null) {
+                    tabView = obtainTab(generation, pos);
+                    if (tabView == null) continue;
+
+                    prepareNewTabView(pos, tabView);
+                }
+
+                if (tabStrip.getChildAt(index) != tabView) {
+                    if (tabView.getParent() == tabStrip)
+                        tabStrip.removeView(tabView);
+                    tabStrip.addView(tabView, index);
                 }
+                index++;
             }
         } catch (Exception e) {
+            // The strip may be left with stale tags, so it is built again from scratch
+            tabProvider.handleUpdateError(e);
+
+            tabStrip.removeAllTabs();
+            tabProvider.clearViewHolders(true);
+            rebuildTabs(tabCount);
         }
+    }
 
-        tabProvider.setData(this, true);
+    /**
+     * Maps every old tab position to its new position, or to -1 if the tab was removed. Tabs
+     * are matched by id if both id arrays are given and the new ids are unique, or else by
+     * position.
+     */
+    static int[] mapTabPositions(int oldTabCount, long[] oldTabIds, int tabCount, long[] tabIds) {
+        HashMap<Long, Integer> newPositions = null;
+        if (tabIds != null && oldTabIds != null && oldTabIds.length == oldTabCount) {
+            newPositions = new HashMap<Long, Integer>(tabCount * 2);
+            for (int pos = 0; pos < tabCount; pos++) {
+                if (newPositions.put(tabIds[pos], pos) != null) {
+                    newPositions = null;
+                    break;
+                }
+            }
+        }
 
-        requestLayout();
+        final int[] keyMap = new int[oldTabCount];
+        final boolean[] mapped = new boolean[tabCount];
+        for (int oldPos = 0; oldPos < oldTabCount; oldPos++) {
+            int pos;
+            if (newPositions != null) {
+                Integer newPos = newPositions.get(oldTabIds[oldPos]);
+                pos = newPos != null ? newPos : -1;
+            } else {
+                pos = oldPos < tabCount ? oldPos : -1;
+            }
+
+            // A new position keeps at most one old tab
+            if (pos >= 0 && mapped[pos]) pos = -1;
+            if (pos >= 0) mapped[pos] = true;
+            keyMap[oldPos] = pos;
+        }
+        return keyMap;
+    }
+
+    private void addTab(final int generation, final int pos) {
+        final View tabView = obtainTab(generation, pos);
+        if (tabView == null) return;
+
+        addTabView(pos, tabView);
+    }
+
+    /**
+     * Returns the created tab view, or null if there is none yet. An asynchronously created tab
+     * is added by {@link #onTabCreated(int, int, boolean)} instead.
+     */
+    private View obtainTab(final int generation, final int pos) {
+        ViewHolder holder = tabProvider.getViewHolderAt(pos);
+        if (holder == null) return null;
+
+        if (asyncTabCreation && !holder.isCreated()) {
+            pendingTabCount++;
+            tabProvider.createAsync(pos, new ViewHolder.OnCreateListener() {
+                @Override
+                public void onCreated(ViewHolder holder, boolean created) {
+                    onTabCreated(generation, pos, created);
+                }
+            });
+            return null;
+        }
+
+        if (!asyncTabCreation)
+            tabProvider.createAt(pos, false);
+
+        return tabProvider.getContentViewAt(pos);
+    }
+
+    private synchronized void onTabCreated(int generation, int pos, boolean created) {
+        if (generation != tabStripGeneration) return;
+        if (pendingTabCount > 0) pendingTabCount--;
+
+        try {
+            View tabView = created ? tabProvider.getContentViewAt(pos) : null;
+            if (tabView != null && tabView.getParent() == null) {
+                addTabView(pos, tabView);
+
+                if (pagerSource != null) {
+                    tabView.setSelected(pos == pagerSource.getCurrentItem());
+                    if (pos == pagerSource.getCurrentItem()) selectedTabPosition = pos;
+                }
+            }
+        } catch (Exception e) {
+        }
+
+        if (pendingTabCount == 0) {
+            tabStrip.onViewPagerPageChanged(pagerSource != null ? pagerSource.getCurrentItem() : 0, 0f);
+            scrollNeeded();
+        }
+    }
+
+    private void addTabView(int pos, View tabView) {
+        prepareNewTabView(pos, tabView);
+
+        int index = tabStrip.getChildCount();
+        while (index > 0) {
+            Object tag = tabStrip.getChildAt(index - 1).getTag(R.id.stl_tab_position);
+            if (!(tag instanceof Integer) || (Integer) tag < pos) break;
+            index--;
+        }
+        tabStrip.addView(tabView, index);
+    }
+
+    private void selectTab(int position) {
+        if (selectedTabPosition != position) {
+            View previousTab = findTabView(selectedTabPosition);
+            if (previousTab != null) previousTab.setSelected(false);
+
+            selectedTabPosition = position;
+        }
+
+        View selectedTab = findTabView(position);
+        if (selectedTab != null && !selectedTab.isSelected()) selectedTab.setSelected(true);
+    }
+
+    private View findTabView(int position) {
+        if (position < 0) return null;
+
+        View tabView = tabStrip.getTabView(position);
+        if (tabView != null && tabStrip.getTabPosition(tabView) == position)
+            return tabView;
+
+        if (tabProvider != null && tabProvider.hasViewHolderAt(position)) {
+            tabView = tabProvider.getContentViewAt(position);
+            if (tabView != null && tabView.getParent() == tabStrip)
+                return tabView;
+        }
+        return null;
+    }
+
+    private void prepareNewTabView(int pos, View tabView) {
+        if (distributeEvenly) {
+            LinearLayout.LayoutParams lp = (LinearLayout.LayoutParams) tabView.getLayoutParams();
+            lp.width = 0;
+            lp.weight = 1;
+        }
+
+        prepareTabView(pos, tabView);
+    }
+
+    private void prepareTabView(int pos, View tabView) {
+        if (internalTabClickListener != null) {
+            tabView.setOnClickListener(internalTabClickListener);
+            tabView.setOnLongClickListener(internalTabClickListener);
+        }
+
+        tabView.setTag(R.id.stl_tab_position, pos);
     }
 
     public boolean isScrolling() {
@@ -621,8 +1038,8 @@ public class SmartTabLayout extends HorizontalScrollView implements ViewTreeObse
     }
 
     public void scrollToCurrentTab() {
-        if (viewPager != null) {
-            int currentTabIndex = viewPager.getCurrentItem();
+        if (pagerSource != null) {
+            int currentTabIndex = pagerSource.getCurrentItem();
             scrollToTab(currentTabIndex, 0);
         }
     }
@@ -694,6 +1111,74 @@ public class SmartTabLayout extends HorizontalScrollView implements ViewTreeObse
         this.scrollPos = -1;
     }
 
+    private boolean isTabJumping() {
+        return tabJumpTarget >= 0;
+    }
+
+    private void jumpToTab(int position) {
+        float fromTabPos = pagerSource.getCurrentItem();
+        if (isTabJumping()) {
+            fromTabPos = (Float) tabJumpAnimator.getAnimatedValue();
+            cancelTabJump();
+        }
+
+        // The pager callbacks of the jump are ignored by the strip until the animation ends
+        tabJumpTarget = position;
+        pagerSource.setCurrentItem(position, false);
+        if (!isTabJumping()) return;
+
+        startScroll(fromTabPos, position);
+
+        if (tabJumpAnimator == null) {
+            tabJumpAnimator = ValueAnimator.ofFloat(0f, 1f);
+            tabJumpAnimator.setDuration(TAB_JUMP_DURATION_MS);
+            tabJumpAnimator.addUpdateListener(new ValueAnimator.AnimatorUpdateListener() {
+                @Override
+                public void onAnimationUpdate(ValueAnimator animation) {
+                    if (isTabJumping())
+                        applyTabJump((Float) animation.getAnimatedValue());
+                }
+            });
+            tabJumpAnimator.addListener(new AnimatorListenerAdapter() {
+                @Override
+                public void onAnimationEnd(Animator animation) {
+                    if (!isTabJumping()) return;
+
+                    int target = tabJumpTarget;
+                    tabJumpTarget = -1;
+                    applyTabJump(target);
+                    stopScroll();
+                }
+            });
+        }
+        tabJumpAnimator.setFloatValues(fromTabPos, position);
+        tabJumpAnimator.start();
+    }
+
+    private void applyTabJump(float tabPos) {
+        int tabIndex = (int) Math.floor(tabPos);
+        if (tabIndex < 0 || tabIndex >= tabStrip.getTabCount()) return;
+
+        tabStrip.onViewPagerPageChanged(tabIndex, tabPos - tabIndex);
+        scroll(tabPos);
+    }
+
+    private void cancelTabJump() {
+        if (!isTabJumping()) return;
+
+        tabJumpTarget = -1;
+        tabJumpAnimator.cancel();
+        stopScroll();
+    }
+
+    @Override
+    protected void onDetachedFromWindow() {
+        // Settle on the clicked tab, the animation would not be drawn anymore
+        if (isTabJumping())
+            tabJumpAnimator.end();
+        super.onDetachedFromWindow();
+    }
+
     public void scroll(int tabIndex, float positionOffset) {
         if (positionOffset < 0) {
             int changeBy = (int) Math.floor(positionOffset);
@@ -730,22 +1215,21 @@ public class SmartTabLayout extends HorizontalScrollView implements ViewTreeObse
         // Calculate scroll
         if (tabStrip == null) return;
         final int tabIndex = (int) Math.floor(tabPos);
-        final int tabStripChildCount = tabStrip.getChildCount();
+        final int tabStripChildCount = tabStrip.getTabCount();
         if (tabIndex < 0 || tabStripChildCount <= 0 || tabIndex >= tabStripChildCount) return;
 
         // Get rtl layout
         final boolean isLayoutRtl = Utils.isLayoutRtl(this);
 
         // Find target tab
-        int tabCount = tabStrip.getChildCount();
+        int tabCount = tabStrip.getTabCount();
         if (tabCount <= 0) return;
 
         int targetTabIndex = (int) Math.floor(targetTabPos);
         if (targetTabIndex >= tabCount) targetTabIndex = tabCount - 1;
         if (targetTabIndex < 0) targetTabIndex = 0;
 
-        View targetTab = tabStrip.getChildAt(targetTabIndex);
-        if (targetTab == null) return;
+        final int targetTab = targetTabIndex;
 
         int targetScrollPos = 0;
         if (tabStrip.isIndicatorAlwaysInCenter()) {
@@ -754,7 +1238,7 @@ public class SmartTabLayout extends HorizontalScrollView implements ViewTreeObse
 
             int scrollOffset = (width / 2) - Utils.getPaddingLeft(this);
 
-            targetScrollPos = Utils.getLeft(targetTab) + (Utils.getWidth(targetTab) / 2) - scrollOffset;
+            targetScrollPos = tabStrip.getTabCenter(targetTab) - scrollOffset;
 
             /*
             targetScrollPos = Utils.getLeft(targetTab) - Utils.getMarginLeft(targetTab);
@@ -776,10 +1260,10 @@ public class SmartTabLayout extends HorizontalScrollView implements ViewTreeObse
             */
         } else {
             if (!isLayoutRtl) {
-                targetScrollPos = Utils.getLeft(targetTab) - Utils.getMarginLeft(targetTab);
+                targetScrollPos = tabStrip.getTabLeft(targetTab) - tabStrip.getTabMarginLeft(targetTab);
             } else {
                 int boundaryWidth = Utils.getWidth(this) - Utils.getPaddingHorizontally(this);
-                targetScrollPos = Utils.getRight(targetTab) + Utils.getMarginRight(targetTab) - boundaryWidth;
+                targetScrollPos = tabStrip.getTabRight(targetTab) + tabStrip.getTabMarginRight(targetTab) - boundaryWidth;
             }
         }
 
@@ -845,53 +1329,181 @@ public class SmartTabLayout extends HorizontalScrollView implements ViewTreeObse
      * {@link #setCustomTabView(com.prodev.views.tabs.SmartTabLayout.TabProvider)}
      */
     public static abstract class TabProvider extends ViewsHolder<Integer> {
+        /**
+         * Payload passed to {@link #bindHolder(Object, View, List)} when only the page title changed.
+         */
+        public static final Object PAYLOAD_TITLE = new Object();
+
+        private static final List<Object> TITLE_PAYLOADS = Collections.singletonList(PAYLOAD_TITLE);
+
         protected boolean rebindOnUpdate;
 
+        /**
+         * Rebind on update only the tabs whose {@link #getTabVersion(int)} changed, and only with
+         * {@link #PAYLOAD_TITLE}. Without it every tab is fully rebound if {@link #rebindOnUpdate}
+         * is set.
+         */
+        protected boolean trackTabVersions;
+
         private SmartTabLayout tabLayout;
 
-        private ViewPager pager;
-        private PagerAdapter adapter;
+        private PagerSource pagerSource;
+
+        private long[] tabVersions = new long[0];
+        private boolean[] tabVersionsValid = new boolean[0];
+
+        private int boundVersionKey = -1;
+        private long boundVersion;
 
         public TabProvider(Context context) {
-            super(context);
+            super(context, STORAGE_POSITIONS);
 
             rebindOnUpdate = true;
+
+            setRecycledViewPool(new RecycledViewPool());
         }
 
         public TabProvider(ViewGroup parentView) {
-            super(parentView);
+            super(parentView, STORAGE_POSITIONS);
 
             rebindOnUpdate = true;
+
+            setRecycledViewPool(new RecycledViewPool());
         }
 
         private synchronized final void setData(SmartTabLayout tabLayout, boolean update) {
             this.tabLayout = tabLayout;
 
-            this.pager = null;
-            this.adapter = null;
+            this.pagerSource = this.tabLayout != null ? this.tabLayout.pagerSource : null;
 
-            if (this.tabLayout != null) {
-                this.pager = this.tabLayout.viewPager;
+            if (update) {
+                for (int key = 0, keyLimit = getKeyLimit(); key < keyLimit; key++) {
+                    if (!hasViewHolderAt(key)) continue;
 
-                if (this.pager != null)
-                    this.adapter = this.pager.getAdapter();
-            }
+                    try {
+                        update(key);
+                    } catch (Exception e) {
+                        handleError(HolderErrorPolicy.OPERATION_CALLBACK, e);
+                    }
+                }
 
-            if (update) {
-                Iterator<Integer> keyIterator = keyIterator();
-                if (keyIterator != null) {
-                    while (keyIterator.hasNext()) {
-                        Integer key = keyIterator.next();
-
-                        try {
-                            update(key);
-                        } catch (Exception e) {
-                            e.printStackTrace();
-                        }
+                if (!rebindOnUpdate || !trackTabVersions) {
+                    createAll(rebindOnUpdate);
+                    return;
+                }
+
+                for (int key = 0, keyLimit = getKeyLimit(); key < keyLimit; key++) {
+                    if (!hasViewHolderAt(key)) continue;
+
+                    ViewHolder holder = getViewHolderAt(key);
+                    if (holder == null || !holder.isCreated() || !holder.isBound()) continue;
+
+                    long version;
+                    try {
+                        version = getTabVersion(key);
+                    } catch (Exception e) {
+                        handleError(HolderErrorPolicy.OPERATION_BIND, e);
+                        continue;
                     }
+                    if (key < tabVersionsValid.length && tabVersionsValid[key] && tabVersions[key] == version)
+                        continue;
+
+                    // The version is recorded when the bind completes, it is not computed again
+                    boundVersionKey = key;
+                    boundVersion = version;
+                    try {
+                        holder.bind(TITLE_PAYLOADS);
+                    } catch (Exception e) {
+                        handleError(HolderErrorPolicy.OPERATION_BIND, e);
+                    } finally {
+                        boundVersionKey = -1;
+                    }
+                }
+
+                createAll(false);
+            }
+        }
+
+        /**
+         * Returns a version of the tab content at the given position. Only used if
+         * {@link #trackTabVersions} is set, a tab is then only rebound on update when its version
+         * differs from the one it was last bound with.
+         * By default this is derived from the page title of the pager source.
+         */
+        protected long getTabVersion(int position) {
+            CharSequence title = null;
+            try {
+                if (pagerSource != null)
+                    title = pagerSource.getPageTitle(position);
+            } catch (Exception e) {
+            }
+
+            if (title == null) return 0L;
+
+            String text = title.toString();
+            return ((long) text.hashCode() << 32) | (text.length() & 0xffffffffL);
+        }
+
+        @Override
+        protected void onViewHolderBound(Integer position, View contentView) {
+            if (!trackTabVersions) return;
+
+            synchronized (this) {
+                if (boundVersionKey == position) {
+                    setTabVersion(position, boundVersion);
+                    return;
+                }
+            }
+
+            long version;
+            try {
+                version = getTabVersion(position);
+            } catch (Exception e) {
+                handleError(HolderErrorPolicy.OPERATION_BIND, e);
+                return;
+            }
+
+            synchronized (this) {
+                setTabVersion(position, version);
+            }
+        }
+
+        private void setTabVersion(int position, long version) {
+            if (position >= tabVersions.length) {
+                int capacity = Math.max(position + 1, tabVersions.length * 2);
+                tabVersions = Arrays.copyOf(tabVersions, capacity);
+                tabVersionsValid = Arrays.copyOf(tabVersionsValid, capacity);
+            }
+
+            tabVersions[position] = version;
+            tabVersionsValid[position] = true;
+        }
+
+        private void handleUpdateError(Exception e) {
+            handleError(HolderErrorPolicy.OPERATION_GENERAL, e);
+        }
+
+        private void moveTabs(int[] keyMap) {
+            moveKeys(keyMap);
+
+            synchronized (this) {
+                int capacity = tabVersions.length;
+                for (int newKey : keyMap) {
+                    if (newKey >= capacity) capacity = newKey + 1;
+                }
+
+                long[] versions = new long[capacity];
+                boolean[] versionsValid = new boolean[capacity];
+                for (int key = 0, count = Math.min(keyMap.length, tabVersions.length); key < count; key++) {
+                    int newKey = keyMap[key];
+                    if (newKey < 0 || !tabVersionsValid[key]) continue;
+
+                    versions[newKey] = tabVersions[key];
+                    versionsValid[newKey] = true;
                 }
 
-                createAll(rebindOnUpdate);
+                tabVersions = versions;
+                tabVersionsValid = versionsValid;
             }
         }
 
@@ -899,38 +1511,506 @@ public class SmartTabLayout extends HorizontalScrollView implements ViewTreeObse
             return rebindOnUpdate;
         }
 
+        public final boolean trackTabVersions() {
+            return trackTabVersions;
+        }
+
         public final SmartTabLayout getTabLayout() {
             return tabLayout;
         }
 
+        /**
+         * Returns the bound {@link ViewPager}, or null if the tabs are bound to another pager.
+         */
         public final ViewPager getPager() {
-            return pager;
+            return pagerSource instanceof ViewPagerSource ? ((ViewPagerSource) pagerSource).getViewPager() : null;
         }
 
-        public final PagerAdapter getAdapter() {
-            return adapter;
+        /**
+         * Returns the source of the page count and titles, whichever pager it is bound to.
+         */
+        public final PagerSource getAdapter() {
+            return pagerSource;
         }
 
         public void update(int position) {
         }
     }
 
-    private class InternalChangeListener implements ViewPager.OnPageChangeListener, ViewPager.OnAdapterChangeListener {
+    /**
+     * Title of a page for pagers whose adapters do not provide one, such as {@link ViewPager2}.
+     */
+    public interface PageTitleProvider {
+        CharSequence getPageTitle(int position);
+    }
+
+    /**
+     * Stable identity of a page. Tabs whose page id is unchanged keep their views when pages
+     * are inserted, removed or moved.
+     */
+    public interface PageIdProvider {
+        long getPageId(int position);
+    }
+
+    /**
+     * Pager the tabs are bound to. Sources report page scrolls and data changes back to the
+     * layout, the built-in ones wrap a {@link ViewPager} or a {@link ViewPager2}.
+     * Scroll states use the values of {@link ViewPager#SCROLL_STATE_IDLE} and its siblings.
+     */
+    public static abstract class PagerSource {
+        private Callback callback;
+
+        /**
+         * Returns whether an adapter is set, the tabs are only created when this returns true.
+         */
+        public abstract boolean hasAdapter();
+
+        public abstract int getCount();
+
+        public abstract CharSequence getPageTitle(int position);
+
+        public abstract int getCurrentItem();
+
+        public abstract void setCurrentItem(int item, boolean smoothScroll);
+
+        /**
+         * Returns whether {@link #getItemId(int)} identifies pages across data changes. Without
+         * stable ids tabs are matched by their position.
+         */
+        public boolean hasStableIds() {
+            return false;
+        }
+
+        public long getItemId(int position) {
+            return position;
+        }
+
+        public abstract View getView();
+
+        protected abstract void onAttach();
+
+        protected abstract void onDetach();
+
+        final void attach(Callback callback) {
+            this.callback = callback;
+            onAttach();
+        }
+
+        final void detach() {
+            onDetach();
+            this.callback = null;
+        }
+
+        protected final void dispatchPageScrolled(int position, float positionOffset, int positionOffsetPixels) {
+            if (callback != null)
+                callback.onPageScrolled(position, positionOffset, positionOffsetPixels);
+        }
+
+        protected final void dispatchPageSelected(int position) {
+            if (callback != null)
+                callback.onPageSelected(position);
+        }
+
+        protected final void dispatchPageScrollStateChanged(int state) {
+            if (callback != null)
+                callback.onPageScrollStateChanged(state);
+        }
+
+        /**
+         * Dispatches a change of the page count or the page titles.
+         */
+        protected final void dispatchDataSetChanged() {
+            if (callback != null)
+                callback.onDataSetChanged();
+        }
+
+        protected final void dispatchAdapterChanged(boolean replaced) {
+            if (callback != null)
+                callback.onAdapterChanged(replaced);
+        }
+
+        interface Callback {
+            void onPageScrolled(int position, float positionOffset, int positionOffsetPixels);
+
+            void onPageSelected(int position);
+
+            void onPageScrollStateChanged(int state);
+
+            void onDataSetChanged();
+
+            void onAdapterChanged(boolean replaced);
+        }
+    }
+
+    /**
+     * {@link PagerSource} of a {@link ViewPager}, titles are taken from its {@link PagerAdapter}.
+     * The adapter may implement {@link PageIdProvider} to keep tab views across data changes,
+     * {@link PagerAdapter#getItemPosition(Object)} only applies to the page objects and cannot
+     * be used for the tabs.
+     */
+    public static class ViewPagerSource extends PagerSource implements ViewPager.OnPageChangeListener, ViewPager.OnAdapterChangeListener {
+        private final ViewPager viewPager;
+        private final DataSetObserver dataSetObserver;
+
+        private PagerAdapter observedAdapter;
+
+        public ViewPagerSource(@NonNull ViewPager viewPager) {
+            this.viewPager = viewPager;
+            this.dataSetObserver = new DataSetObserver() {
+                @Override
+                public void onChanged() {
+                    dispatchDataSetChanged();
+                }
+
+                @Override
+                public void onInvalidated() {
+                    dispatchDataSetChanged();
+                }
+            };
+        }
+
+        public final ViewPager getViewPager() {
+            return viewPager;
+        }
+
+        public final PagerAdapter getAdapter() {
+            return viewPager.getAdapter();
+        }
+
+        @Override
+        public boolean hasAdapter() {
+            return viewPager.getAdapter() != null;
+        }
+
+        @Override
+        public int getCount() {
+            PagerAdapter adapter = viewPager.getAdapter();
+            return adapter != null ? adapter.getCount() : 0;
+        }
+
+        @Override
+        public CharSequence getPageTitle(int position) {
+            PagerAdapter adapter = viewPager.getAdapter();
+            return adapter != null ? adapter.getPageTitle(position) : null;
+        }
+
+        @Override
+        public boolean hasStableIds() {
+            return viewPager.getAdapter() instanceof PageIdProvider;
+        }
+
+        @Override
+        public long getItemId(int position) {
+            PagerAdapter adapter = viewPager.getAdapter();
+            if (adapter instanceof PageIdProvider)
+                return ((PageIdProvider) adapter).getPageId(position);
+            return position;
+        }
+
+        @Override
+        public int getCurrentItem() {
+            return viewPager.getCurrentItem();
+        }
+
+        @Override
+        public void setCurrentItem(int item, boolean smoothScroll) {
+            viewPager.setCurrentItem(item, smoothScroll);
+        }
+
+        @Override
+        public View getView() {
+            return viewPager;
+        }
+
+        @Override
+        protected void onAttach() {
+            viewPager.addOnPageChangeListener(this);
+            viewPager.addOnAdapterChangeListener(this);
+            observeAdapter(viewPager.getAdapter());
+        }
+
+        @Override
+        protected void onDetach() {
+            viewPager.removeOnPageChangeListener(this);
+            viewPager.removeOnAdapterChangeListener(this);
+            observeAdapter(null);
+        }
+
+        private void observeAdapter(PagerAdapter adapter) {
+            if (observedAdapter == adapter) return;
+
+            if (observedAdapter != null)
+                observedAdapter.unregisterDataSetObserver(dataSetObserver);
+            observedAdapter = adapter;
+            if (observedAdapter != null)
+                observedAdapter.registerDataSetObserver(dataSetObserver);
+        }
+
+        @Override
+        public void onPageScrolled(int position, float positionOffset, int positionOffsetPixels) {
+            dispatchPageScrolled(position, positionOffset, positionOffsetPixels);
+        }
+
+        @Override
+        public void onPageSelected(int position) {
+            dispatchPageSelected(position);
+        }
+
+        @Override
+        public void onPageScrollStateChanged(int state) {
+            dispatchPageScrollStateChanged(state);
+        }
+
+        @Override
+        public void onAdapterChanged(@NonNull ViewPager viewPager, @Nullable PagerAdapter oldAdapter, @Nullable PagerAdapter newAdapter) {
+            observeAdapter(newAdapter);
+            dispatchAdapterChanged(oldAdapter != newAdapter);
+        }
+    }
+
+    /**
+     * {@link PagerSource} of a {@link ViewPager2}. Titles are taken from the given
+     * {@link PageTitleProvider}, or from the adapter if it implements that interface. Pages are
+     * identified by the stable ids of the adapter or by {@link PageIdProvider}.
+     * ViewPager2 does not report adapter replacements, a new adapter is picked up with the next
+     * page callback or by setting the pager again.
+     */
+    public static class ViewPager2Source extends PagerSource {
+        private final ViewPager2 viewPager;
+        private final PageTitleProvider titleProvider;
+        private final ViewPager2.OnPageChangeCallback pageChangeCallback;
+        private final RecyclerView.AdapterDataObserver dataObserver;
+
+        private RecyclerView.Adapter observedAdapter;
+
+        public ViewPager2Source(@NonNull ViewPager2 viewPager) {
+            this(viewPager, null);
+        }
+
+        public ViewPager2Source(@NonNull ViewPager2 viewPager, @Nullable PageTitleProvider titleProvider) {
+            this.viewPager = viewPager;
+            this.titleProvider = titleProvider;
+            this.pageChangeCallback = new ViewPager2.OnPageChangeCallback() {
+                @Override
+                public void onPageScrolled(int position, float positionOffset, int positionOffsetPixels) {
+                    checkAdapter();
+                    dispatchPageScrolled(position, positionOffset, positionOffsetPixels);
+                }
+
+                @Override
+                public void onPageSelected(int position) {
+                    checkAdapter();
+                    dispatchPageSelected(position);
+                }
+
+                @Override
+                public void onPageScrollStateChanged(int state) {
+                    dispatchPageScrollStateChanged(state);
+                }
+            };
+            this.dataObserver = new RecyclerView.AdapterDataObserver() {
+                @Override
+                public void onChanged() {
+                    dispatchDataSetChanged();
+                }
+
+                @Override
+                public void onItemRangeChanged(int positionStart, int itemCount) {
+                    dispatchDataSetChanged();
+                }
+
+                @Override
+                public void onItemRangeInserted(int positionStart, int itemCount) {
+                    dispatchDataSetChanged();
+                }
+
+                @Override
+                public void onItemRangeRemoved(int positionStart, int itemCount) {
+                    dispatchDataSetChanged();
+                }
+
+                @Override
+                public void onItemRangeMoved(int fromPosition, int toPosition, int itemCount) {
+                    dispatchDataSetChanged();
+                }
+            };
+        }
+
+        public final ViewPager2 getViewPager() {
+            return viewPager;
+        }
+
+        public final RecyclerView.Adapter getAdapter() {
+            return viewPager.getAdapter();
+        }
+
+        @Override
+        public boolean hasAdapter() {
+            return viewPager.getAdapter() != null;
+        }
+
+        @Override
+        public int getCount() {
+            RecyclerView.Adapter adapter = viewPager.getAdapter();
+            return adapter != null ? adapter.getItemCount() : 0;
+        }
+
+        @Override
+        public CharSequence getPageTitle(int position) {
+            if (titleProvider != null)
+                return titleProvider.getPageTitle(position);
+
+            RecyclerView.Adapter adapter = viewPager.getAdapter();
+            if (adapter instanceof PageTitleProvider)
+                return ((PageTitleProvider) adapter).getPageTitle(position);
+            return null;
+        }
+
+        @Override
+        public boolean hasStableIds() {
+            RecyclerView.Adapter adapter = viewPager.getAdapter();
+            return adapter != null && (adapter instanceof PageIdProvider || adapter.hasStableIds());
+        }
+
+        @Override
+        public long getItemId(int position) {
+            RecyclerView.Adapter adapter = viewPager.getAdapter();
+            if (adapter instanceof PageIdProvider)
+                return ((PageIdProvider) adapter).getPageId(position);
+            if (adapter != null && adapter.hasStableIds())
+                return adapter.getItemId(position);
+            return position;
+        }
+
+        @Override
+        public int getCurrentItem() {
+            return viewPager.getCurrentItem();
+        }
+
+        @Override
+        public void setCurrentItem(int item, boolean smoothScroll) {
+            viewPager.setCurrentItem(item, smoothScroll);
+        }
+
+        @Override
+        public View getView() {
+            return viewPager;
+        }
+
+        @Override
+        protected void onAttach() {
+            viewPager.registerOnPageChangeCallback(pageChangeCallback);
+            observeAdapter(viewPager.getAdapter());
+        }
+
+        @Override
+        protected void onDetach() {
+            viewPager.unregisterOnPageChangeCallback(pageChangeCallback);
+            observeAdapter(null);
+        }
+
+        private void checkAdapter() {
+            RecyclerView.Adapter adapter = viewPager.getAdapter();
+            if (observedAdapter == adapter) return;
+
+            observeAdapter(adapter);
+            dispatchAdapterChanged(true);
+        }
+
+        private void observeAdapter(RecyclerView.Adapter adapter) {
+            if (observedAdapter == adapter) return;
+
+            if (observedAdapter != null)
+                observedAdapter.unregisterAdapterDataObserver(dataObserver);
+            observedAdapter = adapter;
+            if (observedAdapter != null)
+                observedAdapter.registerAdapterDataObserver(dataObserver);
+        }
+    }
+
+    private class InternalChangeListener implements PagerSource.Callback, Choreographer.FrameCallback {
         private float lastTabPos = -1;
         private int scrollState;
 
+        private boolean pageScrollFrameScheduled;
+        private boolean pageScrollPending;
+        private int pendingPosition;
+        private float pendingPositionOffset;
+        private int pendingPositionOffsetPixels;
+
+        private int appliedPosition = -1;
+        private float appliedPositionOffset;
+        private int appliedPositionOffsetPixels;
+
         @Override
         public void onPageScrolled(int position, float positionOffset, int positionOffsetPixels) {
+            if (!coalescePageScroll) {
+                applyPageScroll(position, positionOffset, positionOffsetPixels);
+                return;
+            }
+
+            // The first callback of a frame is applied without delay, the repeats wait for the frame
+            if (!pageScrollFrameScheduled) {
+                pageScrollFrameScheduled = true;
+                Choreographer.getInstance().postFrameCallback(this);
+                applyPageScroll(position, positionOffset, positionOffsetPixels);
+                return;
+            }
+
+            pendingPosition = position;
+            pendingPositionOffset = positionOffset;
+            pendingPositionOffsetPixels = positionOffsetPixels;
+            pageScrollPending = true;
+        }
+
+        @Override
+        public void doFrame(long frameTimeNanos) {
+            pageScrollFrameScheduled = false;
+            if (!pageScrollPending) return;
+
+            pageScrollPending = false;
+            if (pendingPosition == appliedPosition && pendingPositionOffset == appliedPositionOffset
+                    && pendingPositionOffsetPixels == appliedPositionOffsetPixels)
+                return;
+
+            applyPageScroll(pendingPosition, pendingPositionOffset, pendingPositionOffsetPixels);
+        }
+
+        /**
+         * Applies a pending page scroll right away, so that it is not reordered with the
+         * following callbacks.
+         */
+        void flushPageScroll() {
+            if (!pageScrollPending) return;
+
+            Choreographer.getInstance().removeFrameCallback(this);
+            doFrame(0L);
+        }
+
+        void cancelPageScroll() {
+            if (!pageScrollFrameScheduled) return;
+
+            pageScrollFrameScheduled = false;
+            pageScrollPending = false;
+            Choreographer.getInstance().removeFrameCallback(this);
+        }
+
+        private void applyPageScroll(int position, float positionOffset, int positionOffsetPixels) {
             lastTabPos = (float) position + positionOffset;
+            appliedPosition = position;
+            appliedPositionOffset = positionOffset;
+            appliedPositionOffsetPixels = positionOffsetPixels;
 
-            int tabStripChildCount = tabStrip.getChildCount();
+            int tabStripChildCount = tabStrip.getTabCount();
             if ((tabStripChildCount == 0) || (position < 0) || (position >= tabStripChildCount))
                 return;
 
-            tabStrip.onViewPagerPageChanged(position, positionOffset);
+            if (!isTabJumping()) {
+                tabStrip.onViewPagerPageChanged(position, positionOffset);
 
-            if (!isScrolling()) startScroll(position, positionOffset, markedTabPos);
-            scroll(position, positionOffset);
+                if (!isScrolling()) startScroll(position, positionOffset, markedTabPos);
+                scroll(position, positionOffset);
+            }
 
             if (viewPagerPageChangeListener != null) {
                 viewPagerPageChangeListener.onPageScrolled(position, positionOffset, positionOffsetPixels);
@@ -939,10 +2019,26 @@ public class SmartTabLayout extends HorizontalScrollView implements ViewTreeObse
 
         @Override
         public void onPageScrollStateChanged(int state) {
+            flushPageScroll();
+
+            // Dragging the pager takes over from a running tab jump. The settling and idle states
+            // the jump causes itself, ViewPager2 dispatches them from setCurrentItem already,
+            // leave the strip alone.
+            if (state == ViewPager.SCROLL_STATE_DRAGGING)
+                cancelTabJump();
+
+            if (isTabJumping()) {
+                scrollState = state;
+
+                if (viewPagerPageChangeListener != null)
+                    viewPagerPageChangeListener.onPageScrollStateChanged(state);
+                return;
+            }
+
             if (state == ViewPager.SCROLL_STATE_IDLE)
                 stopScroll();
             if (scrollState == ViewPager.SCROLL_STATE_IDLE && state != ViewPager.SCROLL_STATE_IDLE)
-                startScroll(lastTabPos >= 0 ? lastTabPos : (float) (viewPager != null ? viewPager.getCurrentItem() : 0), markedTabPos);
+                startScroll(lastTabPos >= 0 ? lastTabPos : (float) (pagerSource != null ? pagerSource.getCurrentItem() : 0), markedTabPos);
             if (scrollState != ViewPager.SCROLL_STATE_SETTLING && state == ViewPager.SCROLL_STATE_SETTLING)
                 markTargetTabIndex();
 
@@ -955,18 +2051,18 @@ public class SmartTabLayout extends HorizontalScrollView implements ViewTreeObse
 
         @Override
         public void onPageSelected(int position) {
+            flushPageScroll();
+
             if (isUpdateRequired())
                 updateTabStrip();
 
-            if (scrollState == ViewPager.SCROLL_STATE_IDLE) {
+            if (scrollState == ViewPager.SCROLL_STATE_IDLE && !isTabJumping()) {
                 scrollToTab(position);
 
                 tabStrip.onViewPagerPageChanged(position, 0f);
             }
 
-            for (int i = 0, size = tabStrip.getChildCount(); i < size; i++) {
-                tabStrip.getChildAt(i).setSelected(position == i);
-            }
+            selectTab(position);
 
             if (viewPagerPageChangeListener != null) {
                 viewPagerPageChangeListener.onPageSelected(position);
@@ -974,52 +2070,85 @@ public class SmartTabLayout extends HorizontalScrollView implements ViewTreeObse
         }
 
         @Override
-        public void onAdapterChanged(@NonNull ViewPager viewPager, @Nullable PagerAdapter oldAdapter, @Nullable PagerAdapter newAdapter) {
-            if (viewPager != null) {
-                lastTabPos = viewPager.getCurrentItem();
+        public void onDataSetChanged() {
+            flushPageScroll();
+
+            if (pagerSource != null && pagerSource.hasAdapter())
+                updateTabStrip();
+        }
+
+        @Override
+        public void onAdapterChanged(boolean replaced) {
+            flushPageScroll();
+
+            if (pagerSource != null) {
+                lastTabPos = pagerSource.getCurrentItem();
                 scrollToTab(lastTabPos);
             }
 
-            if (oldAdapter != newAdapter) {
+            // Tabs of a replaced adapter can only be kept when the pages are identified by id
+            if (replaced && (pagerSource == null || !pagerSource.hasStableIds())) {
                 try {
                     if (tabStrip != null)
-                        tabStrip.removeAllViews();
+                        tabStrip.removeAllTabs();
                 } catch (Exception e) {
                 }
             }
 
-            setViewPager(viewPager);
+            setPagerSource(pagerSource);
+        }
+    }
+
+    private class InternalTabSource implements SmartTabStrip.VirtualTabSource {
+        @Override
+        public View obtainTabView(int position) {
+            if (tabProvider == null) return null;
+
+            tabProvider.setParentView(tabStrip);
+            if (!tabProvider.createAt(position, false)) return null;
+
+            View tabView = tabProvider.getContentViewAt(position);
+            if (tabView == null) return null;
+
+            prepareTabView(position, tabView);
+            tabView.setSelected(pagerSource != null && pagerSource.getCurrentItem() == position);
+            return tabView;
+        }
+
+        @Override
+        public void recycleTabView(int position, View tabView) {
+            if (tabProvider != null && tabProvider.getContentViewAt(position) == tabView)
+                tabProvider.removeViewHolder(position, true);
         }
     }
 
     private class InternalTabClickListener implements OnClickListener, OnLongClickListener {
         @Override
         public void onClick(View v) {
-            for (int i = 0; i < tabStrip.getChildCount(); i++) {
-                if (v == tabStrip.getChildAt(i)) {
-                    boolean scrollToTab = true;
-                    if (onTabClickListener != null) {
-                        scrollToTab &= onTabClickListener.onTabClicked(i);
-                    }
-                    if (scrollToTab) {
-                        startScroll(viewPager.getCurrentItem(), 0, i);
-                        viewPager.setCurrentItem(i);
-                    }
-                    break;
+            int i = tabStrip.getTabPosition(v);
+            if (i < 0) return;
+
+            boolean scrollToTab = true;
+            if (onTabClickListener != null) {
+                scrollToTab &= onTabClickListener.onTabClicked(i);
+            }
+            if (scrollToTab && pagerSource != null) {
+                if (directTabJump) {
+                    jumpToTab(i);
+                    return;
                 }
+
+                startScroll(pagerSource.getCurrentItem(), 0, i);
+                pagerSource.setCurrentItem(i, true);
             }
         }
 
         @Override
         public boolean onLongClick(View v) {
             boolean handled = false;
-            for (int i = 0; i < tabStrip.getChildCount(); i++) {
-                if (v == tabStrip.getChildAt(i)) {
-                    if (onTabClickListener != null) {
-                        handled |= onTabClickListener.onTabLongClicked(i);
-                    }
-                    break;
-                }
+            int i = tabStrip.getTabPosition(v);
+            if (i >= 0 && onTabClickListener != null) {
+                handled |= onTabClickListener.onTabLongClicked(i);
             }
             return handled;
         }
@@ -1033,12 +2162,14 @@ public class SmartTabLayout extends HorizontalScrollView implements ViewTreeObse
             super(context);
 
             rebindOnUpdate = true;
+            trackTabVersions = true;
         }
 
         public DefaultTabProvider(ViewGroup parentView) {
             super(parentView);
 
             rebindOnUpdate = true;
+            trackTabVersions = true;
         }
 
         @Override
@@ -1090,12 +2221,23 @@ public class SmartTabLayout extends HorizontalScrollView implements ViewTreeObse
 
         @Override
         protected void bindHolder(Integer position, View contentView) {
+            bindTitle(position, contentView);
+        }
+
+        @Override
+        protected void bindHolder(Integer position, View contentView, List<Object> payloads) {
+            if (payloads.contains(PAYLOAD_TITLE))
+                bindTitle(position, contentView);
+        }
+
+        private void bindTitle(int position, View contentView) {
             CharSequence title = null;
             try {
                 title = getAdapter().getPageTitle(position);
             } catch (Exception e) {
             }
 
+            // The tab view carries the id itself, so this does not walk the view tree
             @SuppressLint("ResourceType")
             TextView textView = (TextView) contentView.findViewById(1);
             if (textView != null) textView.setText(title);
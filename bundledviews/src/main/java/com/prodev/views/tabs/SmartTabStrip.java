@@ -21,21 +21,29 @@ import android.content.res.TypedArray;
 import android.graphics.Canvas;
 import android.graphics.Color;
 import android.graphics.Paint;
+import android.graphics.Picture;
+import android.graphics.Rect;
 import android.graphics.RectF;
+import android.graphics.drawable.GradientDrawable;
+import android.os.Build;
 import android.util.AttributeSet;
 import android.util.TypedValue;
 import android.view.Gravity;
 import android.view.View;
+import android.view.ViewGroup;
 import android.widget.LinearLayout;
 
 import com.prodev.views.R;
+import com.prodev.views.tools.holder.ViewsHolder;
+
+import java.util.Arrays;
 
 /**
  * <p>
  * Forked from Google Samples &gt; SlidingTabsBasic &gt;
  * <a href="https://developer.android.com/samples/SlidingTabsBasic/src/com.example.android.common/view/SlidingTabLayout.html">SlidingTabStrip</a>
  */
-public class SmartTabStrip extends LinearLayout {
+public class SmartTabStrip extends LinearLayout implements ViewsHolder.BatchParent {
 
     private static final int GRAVITY_BOTTOM = 0;
     private static final int GRAVITY_TOP = 1;
@@ -59,6 +67,12 @@ public class SmartTabStrip extends LinearLayout {
     private static final int DEFAULT_INDICATOR_GRAVITY = GRAVITY_BOTTOM;
     private static final int DEFAULT_LAYOUT_GRAVITY = GRAVITY_CENTER;
     private static final boolean DEFAULT_DRAW_DECORATION_AFTER_TAB = false;
+    private static final boolean DEFAULT_VIRTUALIZED = false;
+    private static final boolean DEFAULT_CACHE_DECORATIONS = false;
+    private static final boolean DEFAULT_LINEAR_COLOR_BLENDING = false;
+    private static final boolean DEFAULT_INDICATOR_LAYER = false;
+
+    private static final int VIRTUAL_MEASURE_PASSES = 3;
 
     private final int topBorderThickness;
     private final int topBorderColor;
@@ -66,6 +80,11 @@ public class SmartTabStrip extends LinearLayout {
     private final int bottomBorderColor;
     private final Paint borderPaint;
     private final RectF indicatorRectF = new RectF();
+    private final RectF indicatorBounds = new RectF();
+    private final RectF pendingIndicatorBounds = new RectF();
+    private final Rect indicatorDirtyRect = new Rect();
+    private int indicatorBoundsColor;
+    private boolean indicatorBoundsValid;
     private final boolean indicatorWithoutPadding;
     private final boolean indicatorAlwaysInCenter;
     private final boolean indicatorInFront;
@@ -87,6 +106,73 @@ public class SmartTabStrip extends LinearLayout {
     private SmartTabIndicationInterpolator indicationInterpolator;
     private SmartTabLayout.TabColorizer customTabColorizer;
 
+    private int stripGravity;
+
+    private boolean virtualized;
+    private VirtualTabSource virtualTabSource;
+    private int virtualTabCount;
+    private View[] virtualTabViews = new View[0];
+    private int[] virtualTabWidths = new int[0];
+    private int[] virtualTabMarginStarts = new int[0];
+    private int[] virtualTabMarginEnds = new int[0];
+    private int[] virtualTabPaddingStarts = new int[0];
+    private int[] virtualTabPaddingEnds = new int[0];
+    private int[] virtualTabOffsets = new int[1];
+    private int virtualFirstPosition;
+    private int virtualLastPosition = -1;
+    private int virtualWindowFirst;
+    private int virtualWindowLast = -1;
+    private int lastVirtualHeightSpec;
+    private long measuredTabWidthSum;
+    private int measuredTabCount;
+    private int estimatedTabWidth;
+    private int estimatedMarginStart;
+    private int estimatedMarginEnd;
+    private int estimatedPaddingStart;
+    private int estimatedPaddingEnd;
+
+    private ColorTransition colorTransition;
+    private final int[] transitionGradient = new int[ColorTransition.DEFAULT_STEPS + 1];
+    private int transitionFrom;
+    private int transitionTo;
+    private boolean transitionGradientValid;
+
+    private boolean cacheDecorations;
+    private Picture decorationBelowPicture;
+    private Picture decorationAbovePicture;
+    private int decorationWidth;
+    private int decorationHeight;
+    private int decorationTabCount;
+    private int decorationLayoutVersion = -1;
+    private int decorationColorVersion = -1;
+    private SmartTabLayout.TabColorizer decorationColorizer;
+    private boolean decorationWindowValid;
+    private int decorationWindowLeft;
+    private int decorationWindowRight;
+    private int layoutVersion;
+    private int colorVersion;
+
+    private boolean indicatorLayer;
+    private View indicatorLayerView;
+    private GradientDrawable indicatorLayerDrawable;
+    private int indicatorLayerColor;
+
+    private float[] dividerLines = new float[0];
+    private float[] dividerXs = new float[0];
+    private int[] dividerColors = new int[0];
+    private boolean dividerWindowValid;
+    private int dividerWindowLeft;
+    private int dividerWindowRight;
+
+    private boolean layoutRtl;
+    private int geometryCount = -1;
+    private int[] tabLefts = new int[0];
+    private int[] tabRights = new int[0];
+    private int[] tabPaddingStarts = new int[0];
+    private int[] tabPaddingEnds = new int[0];
+    private int[] tabMarginStarts = new int[0];
+    private int[] tabMarginEnds = new int[0];
+
     public SmartTabStrip(Context context, AttributeSet attrs) {
         super(context);
         setWillNotDraw(false);
@@ -116,6 +202,10 @@ public class SmartTabStrip extends LinearLayout {
         int dividerThickness = (int) (DEFAULT_DIVIDER_THICKNESS_DIPS * density);
         int layoutGravity = DEFAULT_LAYOUT_GRAVITY;
         boolean drawDecorationAfterTab = DEFAULT_DRAW_DECORATION_AFTER_TAB;
+        boolean virtualized = DEFAULT_VIRTUALIZED;
+        boolean cacheDecorations = DEFAULT_CACHE_DECORATIONS;
+        boolean linearColorBlending = DEFAULT_LINEAR_COLOR_BLENDING;
+        boolean indicatorLayer = DEFAULT_INDICATOR_LAYER;
 
         TypedArray a = context.obtainStyledAttributes(attrs, R.styleable.stl_SmartTabLayout);
         indicatorAlwaysInCenter = a.getBoolean(
@@ -156,6 +246,14 @@ public class SmartTabStrip extends LinearLayout {
                 R.styleable.stl_SmartTabLayout_stl_layoutGravity, layoutGravity);
         drawDecorationAfterTab = a.getBoolean(
                 R.styleable.stl_SmartTabLayout_stl_drawDecorationAfterTab, drawDecorationAfterTab);
+        virtualized = a.getBoolean(
+                R.styleable.stl_SmartTabLayout_stl_virtualizeTabs, virtualized);
+        cacheDecorations = a.getBoolean(
+                R.styleable.stl_SmartTabLayout_stl_cacheDecorations, cacheDecorations);
+        linearColorBlending = a.getBoolean(
+                R.styleable.stl_SmartTabLayout_stl_linearColorBlending, linearColorBlending);
+        indicatorLayer = a.getBoolean(
+                R.styleable.stl_SmartTabLayout_stl_indicatorLayer, indicatorLayer);
         a.recycle();
 
         final int[] indicatorColors = (indicatorColorsId == NO_ID)
@@ -166,7 +264,9 @@ public class SmartTabStrip extends LinearLayout {
                 ? new int[]{dividerColor}
                 : getResources().getIntArray(dividerColorsId);
 
+        this.colorTransition = new ColorTransition(ColorTransition.DEFAULT_STEPS, linearColorBlending);
         this.defaultTabColorizer = new SimpleTabColorizer();
+        this.defaultTabColorizer.setColorTransition(colorTransition);
         this.defaultTabColorizer.setIndicatorColors(indicatorColors);
         this.defaultTabColorizer.setDividerColors(dividerColors);
 
@@ -179,6 +279,7 @@ public class SmartTabStrip extends LinearLayout {
         this.indicatorAlwaysInCenter = indicatorAlwaysInCenter;
         this.indicatorWithoutPadding = indicatorWithoutPadding;
         this.indicatorInFront = indicatorInFront;
+        this.indicatorLayer = indicatorLayer;
         this.indicatorThickness = indicatorThickness;
         this.indicatorWidth = indicatorWidth;
         this.indicatorPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
@@ -193,8 +294,11 @@ public class SmartTabStrip extends LinearLayout {
         this.layoutGravity = layoutGravity;
 
         this.drawDecorationAfterTab = drawDecorationAfterTab;
+        this.cacheDecorations = cacheDecorations;
 
-        this.indicationInterpolator = SmartTabIndicationInterpolator.of(indicationInterpolatorId);
+        this.virtualized = virtualized;
+
+        this.indicationInterpolator = SmartTabIndicationInterpolator.compiled(indicationInterpolatorId);
 
         // Set values
         try {
@@ -225,41 +329,79 @@ public class SmartTabStrip extends LinearLayout {
     }
 
     /**
-     * Blend {@code color1} and {@code color2} using the given ratio.
+     * Returns the indicator color while scrolling from the tab at {@code position} towards the
+     * next one. The color is looked up in the gradient of that color pair.
      *
-     * @param ratio of which to blend. 1.0 will return {@code color1}, 0.5 will give an even blend,
-     *              0.0 will return {@code color2}.
+     * @param offset of the scroll. 0.0 will return the color of {@code position}, 1.0 will
+     *               return the color of {@code position + 1}.
      */
-    private static int blendColors(int color1, int color2, float ratio) {
-        final float inverseRation = 1f - ratio;
-        float r = (Color.red(color1) * ratio) + (Color.red(color2) * inverseRation);
-        float g = (Color.green(color1) * ratio) + (Color.green(color2) * inverseRation);
-        float b = (Color.blue(color1) * ratio) + (Color.blue(color2) * inverseRation);
-        return Color.rgb((int) r, (int) g, (int) b);
+    private int getIndicatorTransitionColor(SmartTabLayout.TabColorizer tabColorizer, int position, float offset) {
+        final int step = colorTransition.getStep(offset);
+        if (tabColorizer == defaultTabColorizer) {
+            return defaultTabColorizer.getIndicatorTransitionColor(position, step);
+        }
+
+        final int from = tabColorizer.getIndicatorColor(position);
+        final int to = tabColorizer.getIndicatorColor(position + 1);
+        if (from == to) {
+            return from;
+        }
+
+        // Custom colorizers may return any color, so only the current pair is kept
+        if (!transitionGradientValid || transitionFrom != from || transitionTo != to) {
+            colorTransition.fillGradient(from, to, transitionGradient, 0);
+            transitionFrom = from;
+            transitionTo = to;
+            transitionGradientValid = true;
+        }
+        return transitionGradient[step];
+    }
+
+    boolean isLinearColorBlending() {
+        return colorTransition.isLinearLight();
+    }
+
+    void setLinearColorBlending(boolean linearColorBlending) {
+        if (colorTransition.isLinearLight() == linearColorBlending) return;
+
+        colorTransition = new ColorTransition(ColorTransition.DEFAULT_STEPS, linearColorBlending);
+        defaultTabColorizer.setColorTransition(colorTransition);
+        transitionGradientValid = false;
+        invalidateIndicator();
     }
 
     void setIndicationInterpolator(SmartTabIndicationInterpolator interpolator) {
         indicationInterpolator = interpolator;
-        invalidate();
+        invalidateIndicator();
     }
 
     void setCustomTabColorizer(SmartTabLayout.TabColorizer customTabColorizer) {
         this.customTabColorizer = customTabColorizer;
-        invalidate();
+        colorVersion++;
+        invalidateColors();
     }
 
     void setSelectedIndicatorColors(int... colors) {
         // Make sure that the custom colorizer is removed
         customTabColorizer = null;
         defaultTabColorizer.setIndicatorColors(colors);
-        invalidate();
+        colorVersion++;
+        invalidateIndicator();
     }
 
     void setDividerColors(int... colors) {
         // Make sure that the custom colorizer is removed
         customTabColorizer = null;
         defaultTabColorizer.setDividerColors(colors);
+        colorVersion++;
+        invalidateColors();
+    }
+
+    private void invalidateColors() {
+        // Dividers are drawn by the strip, a layered indicator has to pick up its color itself
         invalidate();
+        if (isIndicatorLayerActive())
+            updateIndicatorLayer();
     }
 
     void onViewPagerPageChanged(int position, float positionOffset) {
@@ -268,13 +410,603 @@ public class SmartTabStrip extends LinearLayout {
         if (positionOffset == 0f && lastPosition != selectedPosition) {
             lastPosition = selectedPosition;
         }
+        invalidateIndicator();
+    }
+
+    private void invalidateIndicator() {
+        if (indicatorThickness <= 0 || indicatorWidth == 0) return;
+
+        if (isIndicatorLayerActive()) {
+            updateIndicatorLayer();
+            return;
+        }
+
+        final int tabCount = getTabCount();
+        if (!indicatorBoundsValid || tabCount <= 0) {
+            invalidate();
+            return;
+        }
+
+        int color = computeIndicator(pendingIndicatorBounds, getHeight(), tabCount);
+        if (color == indicatorBoundsColor && pendingIndicatorBounds.equals(indicatorBounds)) {
+            return;
+        }
+
+        // Redraw only the area covered by the old and the new indicator
+        pendingIndicatorBounds.union(indicatorBounds);
+        pendingIndicatorBounds.roundOut(indicatorDirtyRect);
+        invalidate(indicatorDirtyRect.left - 1, indicatorDirtyRect.top - 1,
+                indicatorDirtyRect.right + 1, indicatorDirtyRect.bottom + 1);
+    }
+
+    boolean isCacheDecorations() {
+        return cacheDecorations;
+    }
+
+    void setCacheDecorations(boolean cacheDecorations) {
+        if (this.cacheDecorations == cacheDecorations) return;
+
+        this.cacheDecorations = cacheDecorations;
+        decorationBelowPicture = null;
+        decorationAbovePicture = null;
+        decorationLayoutVersion = -1;
         invalidate();
     }
 
+    boolean isIndicatorLayer() {
+        return indicatorLayer;
+    }
+
+    void setIndicatorLayer(boolean indicatorLayer) {
+        if (this.indicatorLayer == indicatorLayer) return;
+
+        this.indicatorLayer = indicatorLayer;
+        if (!isIndicatorLayerActive() && indicatorLayerView != null) {
+            getOverlay().remove(indicatorLayerView);
+            indicatorLayerView = null;
+            indicatorLayerDrawable = null;
+        }
+        indicatorBoundsValid = false;
+        if (isIndicatorLayerActive())
+            updateIndicatorLayer();
+        invalidate();
+    }
+
+    private boolean isIndicatorLayerActive() {
+        // Overlay views are only supported since Jelly Bean MR2
+        return indicatorLayer && Build.VERSION.SDK_INT >= Build.VERSION_CODES.JELLY_BEAN_MR2;
+    }
+
+    private void updateIndicatorLayer() {
+        final int tabCount = getTabCount();
+        final int height = getHeight();
+        if (tabCount <= 0 || height <= 0 || indicatorThickness <= 0 || indicatorWidth == 0) {
+            if (indicatorLayerView != null)
+                indicatorLayerView.setVisibility(INVISIBLE);
+            return;
+        }
+
+        if (indicatorLayerView == null) {
+            indicatorLayerDrawable = new GradientDrawable();
+            indicatorLayerDrawable.setCornerRadius(indicatorCornerRadius);
+            indicatorLayerDrawable.setColor(indicatorLayerColor);
+
+            indicatorLayerView = new View(getContext());
+            indicatorLayerView.setBackground(indicatorLayerDrawable);
+            indicatorLayerView.setPivotX(0f);
+            getOverlay().add(indicatorLayerView);
+        }
+
+        int color = computeIndicator(indicatorRectF, height, tabCount);
+        if (color != indicatorLayerColor) {
+            indicatorLayerDrawable.setColor(color);
+            indicatorLayerColor = color;
+        }
+
+        // The layer is laid out once and moved with view properties while the pager scrolls,
+        // it is only laid out again at rest or when the indicator changes its height
+        final View view = indicatorLayerView;
+        int top = Math.round(indicatorRectF.top);
+        int bottom = Math.round(indicatorRectF.bottom);
+        int width = Math.max(Math.round(indicatorRectF.width()), 1);
+        if (view.getWidth() <= 0 || view.getTop() != top || view.getBottom() != bottom ||
+                (selectionOffset == 0f && view.getWidth() != width)) {
+            view.layout(0, top, width, bottom);
+        }
+
+        view.setTranslationX(indicatorRectF.left);
+        view.setScaleX(indicatorRectF.width() / view.getWidth());
+        view.setVisibility(VISIBLE);
+    }
+
     boolean isIndicatorAlwaysInCenter() {
         return indicatorAlwaysInCenter;
     }
 
+    @Override
+    public void setGravity(int gravity) {
+        super.setGravity(gravity);
+        this.stripGravity = gravity;
+    }
+
+    boolean isVirtualized() {
+        return virtualized;
+    }
+
+    void setVirtualized(boolean virtualized) {
+        if (this.virtualized == virtualized) return;
+
+        removeAllTabs();
+        this.virtualized = virtualized;
+        setVirtualTabCount(0);
+    }
+
+    void setVirtualTabSource(VirtualTabSource virtualTabSource) {
+        this.virtualTabSource = virtualTabSource;
+    }
+
+    void setVirtualTabCount(int count) {
+        releaseVirtualTabs();
+
+        count = Math.max(count, 0);
+        if (virtualTabWidths.length < count) {
+            virtualTabViews = new View[count];
+            virtualTabWidths = new int[count];
+            virtualTabMarginStarts = new int[count];
+            virtualTabMarginEnds = new int[count];
+            virtualTabPaddingStarts = new int[count];
+            virtualTabPaddingEnds = new int[count];
+            virtualTabOffsets = new int[count + 1];
+        }
+        virtualTabCount = count;
+
+        Arrays.fill(virtualTabWidths, 0, count, -1);
+        measuredTabWidthSum = 0;
+        measuredTabCount = 0;
+        computeVirtualOffsets();
+
+        requestLayout();
+        invalidate();
+    }
+
+    void removeAllTabs() {
+        if (virtualized) {
+            releaseVirtualTabs();
+            requestLayout();
+        } else {
+            removeAllViews();
+        }
+    }
+
+    @Override
+    public boolean addViewInBatch(View child, int index, ViewGroup.LayoutParams params) {
+        if (params == null) params = child.getLayoutParams();
+        if (params == null)
+            params = generateDefaultLayoutParams();
+        else if (!checkLayoutParams(params))
+            params = generateLayoutParams(params);
+        return addViewInLayout(child, index, params);
+    }
+
+    @Override
+    public void removeViewsInBatch(int start, int count) {
+        removeViewsInLayout(start, count);
+    }
+
+    int getTabCount() {
+        return virtualized ? virtualTabCount : getChildCount();
+    }
+
+    View getTabView(int position) {
+        if (!virtualized)
+            return getChildAt(position);
+        if (position < 0 || position >= virtualTabCount)
+            return null;
+        return virtualTabViews[position];
+    }
+
+    int getTabPosition(View tabView) {
+        if (tabView == null) return -1;
+
+        Object tag = tabView.getTag(R.id.stl_tab_position);
+        if (!(tag instanceof Integer)) return -1;
+
+        int position = (Integer) tag;
+        if (virtualized)
+            return getTabView(position) == tabView ? position : -1;
+        return tabView.getParent() == this ? position : -1;
+    }
+
+    int getTabWidth(int position) {
+        if (!virtualized) {
+            if (hasTabGeometry(position))
+                return tabRights[position] - tabLefts[position];
+            return Utils.getWidth(getChildAt(position));
+        }
+        if (position < 0 || position >= virtualTabCount)
+            return 0;
+        return isVirtualTabMeasured(position) ? virtualTabWidths[position] : estimatedTabWidth;
+    }
+
+    int getTabLeft(int position) {
+        if (!virtualized) {
+            if (hasTabGeometry(position))
+                return tabLefts[position];
+            return Utils.getLeft(getChildAt(position));
+        }
+        if (position < 0 || position >= virtualTabCount)
+            return 0;
+        if (layoutRtl)
+            return getTabRight(position) - getTabWidth(position);
+        return getPaddingLeft() + virtualTabOffsets[position] + getTabMarginStart(position);
+    }
+
+    int getTabRight(int position) {
+        if (!virtualized) {
+            if (hasTabGeometry(position))
+                return tabRights[position];
+            return Utils.getRight(getChildAt(position));
+        }
+        if (position < 0 || position >= virtualTabCount)
+            return 0;
+        if (layoutRtl)
+            return getWidth() - getPaddingRight() - virtualTabOffsets[position] - getTabMarginStart(position);
+        return getTabLeft(position) + getTabWidth(position);
+    }
+
+    int getTabCenter(int position) {
+        return getTabLeft(position) + getTabWidth(position) / 2;
+    }
+
+    int getTabStart(int position, boolean withoutPadding) {
+        if (!virtualized && !hasTabGeometry(position))
+            return Utils.getStart(getChildAt(position), withoutPadding);
+        if (virtualized && (position < 0 || position >= virtualTabCount))
+            return 0;
+
+        int paddingStart = withoutPadding ? getTabPaddingStart(position) : 0;
+        if (layoutRtl)
+            return getTabRight(position) - paddingStart;
+        return getTabLeft(position) + paddingStart;
+    }
+
+    int getTabEnd(int position, boolean withoutPadding) {
+        if (!virtualized && !hasTabGeometry(position))
+            return Utils.getEnd(getChildAt(position), withoutPadding);
+        if (virtualized && (position < 0 || position >= virtualTabCount))
+            return 0;
+
+        int paddingEnd = withoutPadding ? getTabPaddingEnd(position) : 0;
+        if (layoutRtl)
+            return getTabLeft(position) + paddingEnd;
+        return getTabRight(position) - paddingEnd;
+    }
+
+    int getTabMarginStart(int position) {
+        if (!virtualized) {
+            if (hasTabGeometry(position))
+                return tabMarginStarts[position];
+            return Utils.getMarginStart(getChildAt(position));
+        }
+        if (position < 0 || position >= virtualTabCount)
+            return 0;
+        return isVirtualTabMeasured(position) ? virtualTabMarginStarts[position] : estimatedMarginStart;
+    }
+
+    int getTabMarginEnd(int position) {
+        if (!virtualized) {
+            if (hasTabGeometry(position))
+                return tabMarginEnds[position];
+            return Utils.getMarginEnd(getChildAt(position));
+        }
+        if (position < 0 || position >= virtualTabCount)
+            return 0;
+        return isVirtualTabMeasured(position) ? virtualTabMarginEnds[position] : estimatedMarginEnd;
+    }
+
+    int getTabMarginLeft(int position) {
+        if (!virtualized && !hasTabGeometry(position))
+            return Utils.getMarginLeft(getChildAt(position));
+        return layoutRtl ? getTabMarginEnd(position) : getTabMarginStart(position);
+    }
+
+    int getTabMarginRight(int position) {
+        if (!virtualized && !hasTabGeometry(position))
+            return Utils.getMarginRight(getChildAt(position));
+        return layoutRtl ? getTabMarginStart(position) : getTabMarginEnd(position);
+    }
+
+    private int getTabPaddingStart(int position) {
+        if (!virtualized)
+            return tabPaddingStarts[position];
+        return isVirtualTabMeasured(position) ? virtualTabPaddingStarts[position] : estimatedPaddingStart;
+    }
+
+    private int getTabPaddingEnd(int position) {
+        if (!virtualized)
+            return tabPaddingEnds[position];
+        return isVirtualTabMeasured(position) ? virtualTabPaddingEnds[position] : estimatedPaddingEnd;
+    }
+
+    private boolean hasTabGeometry(int position) {
+        return geometryCount == getChildCount() && position >= 0 && position < geometryCount;
+    }
+
+    private void updateTabGeometry() {
+        final int count = getChildCount();
+        if (tabLefts.length < count) {
+            int capacity = Math.max(count, tabLefts.length * 2);
+            tabLefts = new int[capacity];
+            tabRights = new int[capacity];
+            tabPaddingStarts = new int[capacity];
+            tabPaddingEnds = new int[capacity];
+            tabMarginStarts = new int[capacity];
+            tabMarginEnds = new int[capacity];
+        }
+
+        for (int i = 0; i < count; i++) {
+            View child = getChildAt(i);
+            tabLefts[i] = child.getLeft();
+            tabRights[i] = child.getRight();
+            tabPaddingStarts[i] = Utils.getPaddingStart(child);
+            tabPaddingEnds[i] = Utils.getPaddingEnd(child);
+            tabMarginStarts[i] = Utils.getMarginStart(child);
+            tabMarginEnds[i] = Utils.getMarginEnd(child);
+        }
+        geometryCount = count;
+    }
+
+    private boolean isVirtualTabMeasured(int position) {
+        return virtualTabWidths[position] >= 0;
+    }
+
+    void onParentScrollChanged() {
+        // Dividers outside of the last drawn window have to be drawn, or recorded, again
+        if (dividerWindowValid && !isDividerWindowCurrent(true, dividerWindowLeft, dividerWindowRight, getTabCount()))
+            invalidate();
+
+        if (!virtualized || virtualTabCount <= 0) return;
+
+        computeVirtualWindow(false);
+        if (virtualWindowFirst < virtualFirstPosition || virtualWindowLast > virtualLastPosition)
+            requestLayout();
+    }
+
+    @Override
+    protected void onMeasure(int widthMeasureSpec, int heightMeasureSpec) {
+        if (!virtualized) {
+            super.onMeasure(widthMeasureSpec, heightMeasureSpec);
+            return;
+        }
+
+        for (int pass = 0; pass < VIRTUAL_MEASURE_PASSES; pass++) {
+            if (!updateVirtualWindow(heightMeasureSpec)) break;
+        }
+
+        int childHeight = 0;
+        for (int pos = virtualFirstPosition; pos <= virtualLastPosition; pos++) {
+            View child = virtualTabViews[pos];
+            if (child == null) continue;
+
+            MarginLayoutParams lp = (MarginLayoutParams) child.getLayoutParams();
+            childHeight = Math.max(childHeight, child.getMeasuredHeight() + lp.topMargin + lp.bottomMargin);
+        }
+
+        int width = getPaddingLeft() + getPaddingRight() + virtualTabOffsets[virtualTabCount];
+        int height = getPaddingTop() + getPaddingBottom() + childHeight;
+        setMeasuredDimension(
+                resolveSize(Math.max(width, getSuggestedMinimumWidth()), widthMeasureSpec),
+                resolveSize(Math.max(height, getSuggestedMinimumHeight()), heightMeasureSpec));
+    }
+
+    @Override
+    protected void onLayout(boolean changed, int l, int t, int r, int b) {
+        layoutRtl = Utils.isLayoutRtl(this);
+        layoutVersion++;
+
+        if (!virtualized) {
+            super.onLayout(changed, l, t, r, b);
+            updateTabGeometry();
+            if (isIndicatorLayerActive())
+                updateIndicatorLayer();
+            return;
+        }
+
+        final int height = b - t;
+        for (int pos = virtualFirstPosition; pos <= virtualLastPosition; pos++) {
+            View child = virtualTabViews[pos];
+            if (child == null) continue;
+
+            MarginLayoutParams lp = (MarginLayoutParams) child.getLayoutParams();
+            int childWidth = child.getMeasuredWidth();
+            int childHeight = child.getMeasuredHeight();
+
+            int childTop;
+            switch (stripGravity & Gravity.VERTICAL_GRAVITY_MASK) {
+                case Gravity.TOP:
+                    childTop = getPaddingTop() + lp.topMargin;
+                    break;
+
+                case Gravity.BOTTOM:
+                    childTop = height - getPaddingBottom() - childHeight - lp.bottomMargin;
+                    break;
+
+                default:
+                    childTop = getPaddingTop() + lp.topMargin - lp.bottomMargin +
+                            (height - getPaddingTop() - getPaddingBottom() - childHeight) / 2;
+                    break;
+            }
+
+            int childLeft = getTabLeft(pos);
+            child.layout(childLeft, childTop, childLeft + childWidth, childTop + childHeight);
+        }
+
+        if (isIndicatorLayerActive())
+            updateIndicatorLayer();
+    }
+
+    private boolean updateVirtualWindow(int heightMeasureSpec) {
+        if (virtualTabCount <= 0) {
+            releaseVirtualTabs();
+            return false;
+        }
+
+        computeVirtualWindow(true);
+        final int first = virtualWindowFirst;
+        final int last = virtualWindowLast;
+
+        for (int pos = virtualFirstPosition; pos <= virtualLastPosition; pos++) {
+            if (pos < first || pos > last)
+                releaseVirtualTab(pos);
+        }
+        virtualFirstPosition = first;
+        virtualLastPosition = last;
+
+        boolean changed = false;
+        for (int pos = first; pos <= last; pos++) {
+            View child = virtualTabViews[pos];
+            boolean attached = child != null;
+            if (!attached) {
+                child = obtainVirtualTab(pos);
+                if (child == null) continue;
+            }
+
+            if (!attached || child.isLayoutRequested() || heightMeasureSpec != lastVirtualHeightSpec)
+                changed |= measureVirtualTab(pos, child, heightMeasureSpec);
+        }
+        lastVirtualHeightSpec = heightMeasureSpec;
+
+        if (changed)
+            computeVirtualOffsets();
+        return changed;
+    }
+
+    private void computeVirtualWindow(boolean withMargin) {
+        View parent = getParent() instanceof View ? (View) getParent() : null;
+
+        int viewportWidth = parent != null ? parent.getWidth() : 0;
+        if (viewportWidth <= 0)
+            viewportWidth = getResources().getDisplayMetrics().widthPixels;
+
+        int visibleLeft = (parent != null ? parent.getScrollX() : 0) - getLeft();
+        int windowStart;
+        if (Utils.isLayoutRtl(this)) {
+            int width = Math.max(getWidth(), getPaddingLeft() + getPaddingRight() + virtualTabOffsets[virtualTabCount]);
+            windowStart = width - getPaddingRight() - (visibleLeft + viewportWidth);
+        } else {
+            windowStart = visibleLeft - getPaddingLeft();
+        }
+        int windowEnd = windowStart + viewportWidth;
+
+        if (withMargin) {
+            windowStart -= viewportWidth;
+            windowEnd += viewportWidth;
+        }
+
+        virtualWindowFirst = findVirtualTabAt(windowStart);
+        virtualWindowLast = findVirtualTabAt(windowEnd);
+    }
+
+    private int findVirtualTabAt(int offset) {
+        int low = 0;
+        int high = virtualTabCount - 1;
+        while (low < high) {
+            int mid = (low + high + 1) >>> 1;
+            if (virtualTabOffsets[mid] <= offset)
+                low = mid;
+            else
+                high = mid - 1;
+        }
+        return low;
+    }
+
+    private void computeVirtualOffsets() {
+        int offset = 0;
+        for (int pos = 0; pos < virtualTabCount; pos++) {
+            virtualTabOffsets[pos] = offset;
+            offset += getTabMarginStart(pos) + getTabWidth(pos) + getTabMarginEnd(pos);
+        }
+        virtualTabOffsets[virtualTabCount] = offset;
+    }
+
+    private View obtainVirtualTab(int position) {
+        if (virtualTabSource == null) return null;
+
+        View child = virtualTabSource.obtainTabView(position);
+        if (child == null || child.getParent() != null) return null;
+
+        ViewGroup.LayoutParams lp = child.getLayoutParams();
+        if (lp == null)
+            lp = generateDefaultLayoutParams();
+        else if (!checkLayoutParams(lp))
+            lp = generateLayoutParams(lp);
+
+        addViewInLayout(child, -1, lp, true);
+        virtualTabViews[position] = child;
+        return child;
+    }
+
+    private boolean measureVirtualTab(int position, View child, int heightMeasureSpec) {
+        MarginLayoutParams lp = (MarginLayoutParams) child.getLayoutParams();
+
+        int childWidthSpec = lp.width >= 0
+                ? MeasureSpec.makeMeasureSpec(lp.width, MeasureSpec.EXACTLY)
+                : MeasureSpec.makeMeasureSpec(0, MeasureSpec.UNSPECIFIED);
+        int childHeightSpec = getChildMeasureSpec(heightMeasureSpec,
+                getPaddingTop() + getPaddingBottom() + lp.topMargin + lp.bottomMargin, lp.height);
+        child.measure(childWidthSpec, childHeightSpec);
+
+        int width = child.getMeasuredWidth();
+        int marginStart = Utils.getMarginStart(child);
+        int marginEnd = Utils.getMarginEnd(child);
+
+        boolean measured = isVirtualTabMeasured(position);
+        boolean changed = !measured ||
+                virtualTabWidths[position] != width ||
+                virtualTabMarginStarts[position] != marginStart ||
+                virtualTabMarginEnds[position] != marginEnd;
+
+        if (measured) {
+            measuredTabWidthSum += width - virtualTabWidths[position];
+        } else {
+            measuredTabWidthSum += width;
+            measuredTabCount++;
+        }
+
+        virtualTabWidths[position] = width;
+        virtualTabMarginStarts[position] = marginStart;
+        virtualTabMarginEnds[position] = marginEnd;
+        virtualTabPaddingStarts[position] = Utils.getPaddingStart(child);
+        virtualTabPaddingEnds[position] = Utils.getPaddingEnd(child);
+
+        estimatedTabWidth = (int) (measuredTabWidthSum / measuredTabCount);
+        estimatedMarginStart = marginStart;
+        estimatedMarginEnd = marginEnd;
+        estimatedPaddingStart = virtualTabPaddingStarts[position];
+        estimatedPaddingEnd = virtualTabPaddingEnds[position];
+
+        return changed;
+    }
+
+    private void releaseVirtualTab(int position) {
+        View child = virtualTabViews[position];
+        if (child == null) return;
+
+        virtualTabViews[position] = null;
+        removeViewInLayout(child);
+
+        if (virtualTabSource != null)
+            virtualTabSource.recycleTabView(position, child);
+    }
+
+    private void releaseVirtualTabs() {
+        for (int pos = virtualFirstPosition; pos <= virtualLastPosition && pos < virtualTabCount; pos++)
+            releaseVirtualTab(pos);
+
+        virtualFirstPosition = 0;
+        virtualLastPosition = -1;
+    }
+
     SmartTabLayout.TabColorizer getTabColorizer() {
         return (customTabColorizer != null) ? customTabColorizer : defaultTabColorizer;
     }
@@ -297,73 +1029,110 @@ public class SmartTabStrip extends LinearLayout {
     private void drawDecoration(Canvas canvas) {
         final int height = getHeight();
         final int width = getWidth();
-        final int tabCount = getChildCount();
-        final SmartTabLayout.TabColorizer tabColorizer = getTabColorizer();
-        final boolean isLayoutRtl = Utils.isLayoutRtl(this);
+        final int tabCount = getTabCount();
+
+        if (cacheDecorations && canDrawPicture(canvas)) {
+            updateDecorationCache(width, height, tabCount);
+
+            // Static decorations are replayed, only the indicator is drawn per frame
+            canvas.drawPicture(decorationBelowPicture);
+            drawSelectedIndicator(canvas, height, tabCount);
+            canvas.drawPicture(decorationAbovePicture);
+            return;
+        }
 
         if (indicatorInFront) {
             drawOverline(canvas, 0, width);
             drawUnderline(canvas, 0, width, height);
         }
 
+        drawSelectedIndicator(canvas, height, tabCount);
+
+        if (!indicatorInFront) {
+            drawOverline(canvas, 0, width);
+            drawUnderline(canvas, 0, getWidth(), height);
+        }
+
+        // Vertical separators between the titles
+        drawSeparator(canvas, height, tabCount);
+
+    }
+
+    private void drawSelectedIndicator(Canvas canvas, int height, int tabCount) {
         // Thick colored underline below the current selection
-        if (tabCount > 0) {
-            View selectedTab = getChildAt(selectedPosition);
-            int selectedStart = Utils.getStart(selectedTab, indicatorWithoutPadding);
-            int selectedEnd = Utils.getEnd(selectedTab, indicatorWithoutPadding);
-            int left;
-            int right;
-            if (isLayoutRtl) {
-                left = selectedEnd;
-                right = selectedStart;
-            } else {
-                left = selectedStart;
-                right = selectedEnd;
-            }
+        if (tabCount > 0 && !isIndicatorLayerActive()) {
+            int color = computeIndicator(indicatorRectF, height, tabCount);
+            drawIndicator(canvas, color);
 
-            int color = tabColorizer.getIndicatorColor(selectedPosition);
-            float thickness = indicatorThickness;
+            indicatorBounds.set(indicatorRectF);
+            indicatorBoundsColor = color;
+            indicatorBoundsValid = true;
+        }
+    }
 
-            if (selectionOffset > 0f && selectedPosition < (getChildCount() - 1)) {
-                int nextColor = tabColorizer.getIndicatorColor(selectedPosition + 1);
-                if (color != nextColor) {
-                    color = blendColors(nextColor, color, selectionOffset);
-                }
+    private static boolean canDrawPicture(Canvas canvas) {
+        // Hardware accelerated canvases only support pictures since Marshmallow
+        return !canvas.isHardwareAccelerated() || Build.VERSION.SDK_INT >= Build.VERSION_CODES.M;
+    }
 
-                // Draw the selection partway between the tabs
-                float startOffset = indicationInterpolator.getLeftEdge(selectionOffset);
-                float endOffset = indicationInterpolator.getRightEdge(selectionOffset);
-                float thicknessOffset = indicationInterpolator.getThickness(selectionOffset);
-
-                View nextTab = getChildAt(selectedPosition + 1);
-                int nextStart = Utils.getStart(nextTab, indicatorWithoutPadding);
-                int nextEnd = Utils.getEnd(nextTab, indicatorWithoutPadding);
-                if (isLayoutRtl) {
-                    left = (int) (endOffset * nextEnd + (1.0f - endOffset) * left);
-                    right = (int) (startOffset * nextStart + (1.0f - startOffset) * right);
-                } else {
-                    left = (int) (startOffset * nextStart + (1.0f - startOffset) * left);
-                    right = (int) (endOffset * nextEnd + (1.0f - endOffset) * right);
-                }
-                thickness = thickness * thicknessOffset;
-            }
+    private void updateDecorationCache(int width, int height, int tabCount) {
+        final SmartTabLayout.TabColorizer tabColorizer = getTabColorizer();
+        if (decorationBelowPicture != null && decorationAbovePicture != null &&
+                decorationWidth == width && decorationHeight == height &&
+                decorationTabCount == tabCount && decorationLayoutVersion == layoutVersion &&
+                decorationColorVersion == colorVersion && decorationColorizer == tabColorizer &&
+                isDividerWindowCurrent(decorationWindowValid, decorationWindowLeft, decorationWindowRight, tabCount)) {
+            return;
+        }
 
-            drawIndicator(canvas, left, right, height, thickness, color);
+        if (decorationBelowPicture == null) decorationBelowPicture = new Picture();
+        if (decorationAbovePicture == null) decorationAbovePicture = new Picture();
 
+        Canvas below = decorationBelowPicture.beginRecording(width, height);
+        if (indicatorInFront) {
+            drawOverline(below, 0, width);
+            drawUnderline(below, 0, width, height);
         }
+        decorationBelowPicture.endRecording();
 
+        Canvas above = decorationAbovePicture.beginRecording(width, height);
         if (!indicatorInFront) {
-            drawOverline(canvas, 0, width);
-            drawUnderline(canvas, 0, getWidth(), height);
+            drawOverline(above, 0, width);
+            drawUnderline(above, 0, width, height);
         }
+        drawSeparator(above, height, tabCount);
+        decorationAbovePicture.endRecording();
+
+        decorationWidth = width;
+        decorationHeight = height;
+        decorationTabCount = tabCount;
+        decorationLayoutVersion = layoutVersion;
+        decorationColorVersion = colorVersion;
+        decorationColorizer = tabColorizer;
+        decorationWindowValid = dividerWindowValid;
+        decorationWindowLeft = dividerWindowLeft;
+        decorationWindowRight = dividerWindowRight;
+    }
 
-        // Vertical separators between the titles
-        drawSeparator(canvas, height, tabCount);
+    /**
+     * Returns whether dividers drawn for the given window still cover the visible part of the
+     * strip.
+     */
+    private boolean isDividerWindowCurrent(boolean windowValid, int windowLeft, int windowRight, int tabCount) {
+        if (dividerThickness <= 0 || tabCount < 2) return true;
+
+        View parent = getParent() instanceof View ? (View) getParent() : null;
+        if (parent == null || parent.getWidth() <= 0) return !windowValid;
+        if (!windowValid) return false;
 
+        int visibleLeft = parent.getScrollX() - getLeft();
+        int visibleRight = visibleLeft + parent.getWidth();
+        return visibleLeft >= windowLeft && visibleRight <= windowRight;
     }
 
     private void drawSeparator(Canvas canvas, int height, int tabCount) {
-        if (dividerThickness <= 0) {
+        dividerWindowValid = false;
+        if (dividerThickness <= 0 || tabCount < 2) {
             return;
         }
 
@@ -374,23 +1143,134 @@ public class SmartTabStrip extends LinearLayout {
         final int separatorTop = (height - dividerHeightPx) / 2;
         final int separatorBottom = separatorTop + dividerHeightPx;
 
-        final boolean isLayoutRtl = Utils.isLayoutRtl(this);
-        for (int i = 0; i < tabCount - 1; i++) {
-            View child = getChildAt(i);
-            int end = Utils.getEnd(child);
-            int endMargin = Utils.getMarginEnd(child);
-            int separatorX = isLayoutRtl ? end - endMargin : end + endMargin;
-            dividerPaint.setColor(tabColorizer.getDividerColor(i));
-            canvas.drawLine(separatorX, separatorTop, separatorX, separatorBottom, dividerPaint);
+        // Only the dividers within the scroll window of the parent are drawn
+        int first = 0;
+        int end = tabCount - 1;
+        View parent = getParent() instanceof View ? (View) getParent() : null;
+        if (parent != null && parent.getWidth() > 0) {
+            final int viewportWidth = parent.getWidth();
+            final int visibleLeft = parent.getScrollX() - getLeft();
+            dividerWindowLeft = visibleLeft - viewportWidth;
+            dividerWindowRight = visibleLeft + 2 * viewportWidth;
+            dividerWindowValid = true;
+
+            final int slop = (int) Math.ceil(dividerThickness);
+            final int windowLeft = dividerWindowLeft - slop;
+            final int windowRight = dividerWindowRight + slop;
+            if (layoutRtl) {
+                first = findSeparator(windowRight, end);
+                end = findSeparator(windowLeft - 1, end);
+            } else {
+                first = findSeparator(windowLeft, end);
+                end = findSeparator(windowRight + 1, end);
+            }
         }
-    }
 
-    private void drawIndicator(Canvas canvas, int left, int right, int height, float thickness,
-                               int color) {
-        if (indicatorThickness <= 0 || indicatorWidth == 0) {
+        int count = end - first;
+        if (count <= 0) {
             return;
         }
 
+        if (dividerColors.length < count) {
+            int capacity = Math.max(count, dividerColors.length * 2);
+            dividerColors = new int[capacity];
+            dividerXs = new float[capacity];
+            dividerLines = new float[capacity * 4];
+        }
+
+        for (int i = 0; i < count; i++) {
+            dividerColors[i] = tabColorizer.getDividerColor(first + i);
+            dividerXs[i] = getSeparatorX(first + i);
+        }
+
+        // One drawLines call per color, the remaining dividers are compacted to the front
+        while (count > 0) {
+            final int color = dividerColors[0];
+            int lines = 0;
+            int remaining = 0;
+            for (int i = 0; i < count; i++) {
+                if (dividerColors[i] == color) {
+                    dividerLines[lines++] = dividerXs[i];
+                    dividerLines[lines++] = separatorTop;
+                    dividerLines[lines++] = dividerXs[i];
+                    dividerLines[lines++] = separatorBottom;
+                } else {
+                    dividerColors[remaining] = dividerColors[i];
+                    dividerXs[remaining] = dividerXs[i];
+                    remaining++;
+                }
+            }
+
+            dividerPaint.setColor(color);
+            canvas.drawLines(dividerLines, 0, lines, dividerPaint);
+            count = remaining;
+        }
+    }
+
+    private int getSeparatorX(int position) {
+        int end = getTabEnd(position, false);
+        int endMargin = getTabMarginEnd(position);
+        return layoutRtl ? end - endMargin : end + endMargin;
+    }
+
+    /**
+     * Returns the first divider at or past {@code x} in the layout direction, or {@code count}
+     * if there is none.
+     */
+    private int findSeparator(int x, int count) {
+        final boolean isLayoutRtl = layoutRtl;
+        int low = 0;
+        int high = count;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            int separatorX = getSeparatorX(mid);
+            if (isLayoutRtl ? separatorX > x : separatorX < x)
+                low = mid + 1;
+            else
+                high = mid;
+        }
+        return low;
+    }
+
+    private int computeIndicator(RectF bounds, int height, int tabCount) {
+        final SmartTabLayout.TabColorizer tabColorizer = getTabColorizer();
+        final boolean isLayoutRtl = layoutRtl;
+
+        int selectedStart = getTabStart(selectedPosition, indicatorWithoutPadding);
+        int selectedEnd = getTabEnd(selectedPosition, indicatorWithoutPadding);
+        int left;
+        int right;
+        if (isLayoutRtl) {
+            left = selectedEnd;
+            right = selectedStart;
+        } else {
+            left = selectedStart;
+            right = selectedEnd;
+        }
+
+        int color = tabColorizer.getIndicatorColor(selectedPosition);
+        float thickness = indicatorThickness;
+
+        if (selectionOffset > 0f && selectedPosition < (tabCount - 1)) {
+            color = getIndicatorTransitionColor(tabColorizer, selectedPosition, selectionOffset);
+
+            // Draw the selection partway between the tabs
+            float startOffset = indicationInterpolator.getLeftEdge(selectionOffset);
+            float endOffset = indicationInterpolator.getRightEdge(selectionOffset);
+            float thicknessOffset = indicationInterpolator.getThickness(selectionOffset);
+
+            int nextStart = getTabStart(selectedPosition + 1, indicatorWithoutPadding);
+            int nextEnd = getTabEnd(selectedPosition + 1, indicatorWithoutPadding);
+            if (isLayoutRtl) {
+                left = (int) (endOffset * nextEnd + (1.0f - endOffset) * left);
+                right = (int) (startOffset * nextStart + (1.0f - startOffset) * right);
+            } else {
+                left = (int) (startOffset * nextStart + (1.0f - startOffset) * left);
+                right = (int) (endOffset * nextEnd + (1.0f - endOffset) * right);
+            }
+            thickness = thickness * thicknessOffset;
+        }
+
         float center;
         float top;
         float bottom;
@@ -413,14 +1293,21 @@ public class SmartTabStrip extends LinearLayout {
                 bottom = center + (thickness / 2f);
         }
 
-        indicatorPaint.setColor(color);
         if (indicatorWidth == AUTO_WIDTH) {
-            indicatorRectF.set(left, top, right, bottom);
+            bounds.set(left, top, right, bottom);
         } else {
             float padding = (Math.abs(left - right) - indicatorWidth) / 2f;
-            indicatorRectF.set(left + padding, top, right - padding, bottom);
+            bounds.set(left + padding, top, right - padding, bottom);
+        }
+        return color;
+    }
+
+    private void drawIndicator(Canvas canvas, int color) {
+        if (indicatorThickness <= 0 || indicatorWidth == 0) {
+            return;
         }
 
+        indicatorPaint.setColor(color);
         if (indicatorCornerRadius > 0f) {
             canvas.drawRoundRect(
                     indicatorRectF, indicatorCornerRadius,
@@ -448,23 +1335,66 @@ public class SmartTabStrip extends LinearLayout {
         canvas.drawRect(left, height - bottomBorderThickness, right, height, borderPaint);
     }
 
+    interface VirtualTabSource {
+        View obtainTabView(int position);
+
+        void recycleTabView(int position, View tabView);
+    }
+
     private static class SimpleTabColorizer implements SmartTabLayout.TabColorizer {
 
         private int[] indicatorColors;
         private int[] dividerColors;
 
+        private ColorTransition colorTransition;
+        private int[] indicatorGradients;
+
+        private static int colorAt(int[] colors, int position) {
+            final int count = colors.length;
+            if (count == 1) return colors[0];
+            return colors[position < count ? position : position % count];
+        }
+
         @Override
         public final int getIndicatorColor(int position) {
-            return indicatorColors[position % indicatorColors.length];
+            return colorAt(indicatorColors, position);
         }
 
         @Override
         public final int getDividerColor(int position) {
-            return dividerColors[position % dividerColors.length];
+            return colorAt(dividerColors, position);
+        }
+
+        /**
+         * Returns the indicator color between {@code position} and the next tab, reading from
+         * gradients precomputed for every pair of adjacent colors.
+         */
+        int getIndicatorTransitionColor(int position, int step) {
+            final int count = indicatorColors.length;
+            if (count == 1) return indicatorColors[0];
+
+            if (indicatorGradients == null) {
+                final int stride = colorTransition.getSteps() + 1;
+                int[] gradients = new int[count * stride];
+                for (int i = 0; i < count; i++) {
+                    int next = (i + 1 < count) ? i + 1 : 0;
+                    colorTransition.fillGradient(indicatorColors[i], indicatorColors[next], gradients, i * stride);
+                }
+                indicatorGradients = gradients;
+            }
+
+            final int index = position < count ? position : position % count;
+            return indicatorGradients[index * (colorTransition.getSteps() + 1) + step];
+        }
+
+        void setColorTransition(ColorTransition colorTransition) {
+            this.colorTransition = colorTransition;
+            indicatorGradients = null;
         }
 
         void setIndicatorColors(int... colors) {
             indicatorColors = colors;
+            indicatorGradients = null;
         }
 
         void setDividerColors(int... colors) {
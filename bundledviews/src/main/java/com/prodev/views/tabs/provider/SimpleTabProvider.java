@@ -8,6 +8,8 @@ import android.widget.TextView;
 
 import com.prodev.views.tabs.SmartTabLayout;
 
+import java.util.List;
+
 public class SimpleTabProvider extends SmartTabLayout.TabProvider {
     private final int tabViewLayoutId;
     private final int tabViewTextViewId;
@@ -16,6 +18,7 @@ public class SimpleTabProvider extends SmartTabLayout.TabProvider {
         super(context);
 
         rebindOnUpdate = true;
+        trackTabVersions = true;
 
         tabViewLayoutId = layoutResId;
         tabViewTextViewId = textViewId;
@@ -25,6 +28,7 @@ public class SimpleTabProvider extends SmartTabLayout.TabProvider {
         super(parentView);
 
         rebindOnUpdate = true;
+        trackTabVersions = true;
 
         tabViewLayoutId = layoutResId;
         tabViewTextViewId = textViewId;
@@ -37,6 +41,16 @@ public class SimpleTabProvider extends SmartTabLayout.TabProvider {
 
     @Override
     protected void bindHolder(Integer position, View contentView) {
+        bindTitle(position, contentView);
+    }
+
+    @Override
+    protected void bindHolder(Integer position, View contentView, List<Object> payloads) {
+        if (payloads.contains(PAYLOAD_TITLE))
+            bindTitle(position, contentView);
+    }
+
+    private void bindTitle(int position, View contentView) {
         CharSequence title = null;
         try {
             title = getAdapter().getPageTitle(position);
@@ -44,6 +58,7 @@ public class SimpleTabProvider extends SmartTabLayout.TabProvider {
         }
 
         if (tabViewTextViewId != View.NO_ID) {
+            // Resolved from the bound view, looking up the holder here would take the holder map lock
             TextView textView = (TextView) contentView.findViewById(tabViewTextViewId);
             if (textView != null) textView.setText(title);
         }
@@ -0,0 +1,171 @@
+package com.prodev.views.tools.holder;
+
+import android.util.Log;
+
+public abstract class HolderErrorPolicy {
+    public static final int OPERATION_GENERAL = 0;
+    public static final int OPERATION_CREATE = 1;
+    public static final int OPERATION_BIND = 2;
+    public static final int OPERATION_DESTROY = 3;
+    public static final int OPERATION_RECYCLE = 4;
+    public static final int OPERATION_CALLBACK = 5;
+
+    private static final int OPERATION_COUNT = 6;
+
+    private static final String TAG = "ViewsHolder";
+    private static final long DEFAULT_SAMPLE_INTERVAL_MILLIS = 5000L;
+
+    private static volatile HolderErrorPolicy defaultPolicy;
+
+    public static HolderErrorPolicy getDefault() {
+        if (defaultPolicy == null) {
+            synchronized (HolderErrorPolicy.class) {
+                if (defaultPolicy == null)
+                    defaultPolicy = countAndSample(DEFAULT_SAMPLE_INTERVAL_MILLIS);
+            }
+        }
+        return defaultPolicy;
+    }
+
+    public static void setDefault(HolderErrorPolicy policy) {
+        synchronized (HolderErrorPolicy.class) {
+            defaultPolicy = policy;
+        }
+    }
+
+    public static HolderErrorPolicy rethrow() {
+        return new RethrowPolicy();
+    }
+
+    public static SamplingPolicy countAndSample(long sampleIntervalMillis) {
+        return new SamplingPolicy(sampleIntervalMillis);
+    }
+
+    public static String getOperationName(int operation) {
+        switch (operation) {
+            case OPERATION_CREATE:
+                return "create";
+            case OPERATION_BIND:
+                return "bind";
+            case OPERATION_DESTROY:
+                return "destroy";
+            case OPERATION_RECYCLE:
+                return "recycle";
+            case OPERATION_CALLBACK:
+                return "callback";
+            default:
+                return "general";
+        }
+    }
+
+    static void handle(HolderErrorPolicy policy, Object source, int operation, Throwable error) {
+        if (error == null) return;
+
+        if (policy == null)
+            policy = getDefault();
+        if (policy != null)
+            policy.onError(source, operation, error);
+    }
+
+    public abstract void onError(Object source, int operation, Throwable error);
+
+    private static class RethrowPolicy extends HolderErrorPolicy {
+        @Override
+        public void onError(Object source, int operation, Throwable error) {
+            if (error instanceof RuntimeException)
+                throw (RuntimeException) error;
+            if (error instanceof Error)
+                throw (Error) error;
+            throw new IllegalStateException("View holder " + getOperationName(operation) + " failed", error);
+        }
+    }
+
+    public static final class SamplingPolicy extends HolderErrorPolicy {
+        private final long sampleIntervalNanos;
+
+        private final long[] errorCounts = new long[OPERATION_COUNT];
+        private long errorCount;
+        private long suppressedCount;
+        private long lastSampleNanos;
+        private boolean sampled;
+
+        private Throwable lastError;
+        private boolean logStackTraces;
+
+        private SamplingPolicy(long sampleIntervalMillis) {
+            this.sampleIntervalNanos = Math.max(sampleIntervalMillis, 0L) * 1000000L;
+        }
+
+        public synchronized final long getErrorCount() {
+            return errorCount;
+        }
+
+        public synchronized final long getErrorCount(int operation) {
+            if (operation < 0 || operation >= OPERATION_COUNT) return 0L;
+            return errorCounts[operation];
+        }
+
+        public synchronized final long getSuppressedCount() {
+            return suppressedCount;
+        }
+
+        public synchronized final Throwable getLastError() {
+            return lastError;
+        }
+
+        public synchronized final boolean isLogStackTraces() {
+            return logStackTraces;
+        }
+
+        public synchronized final void setLogStackTraces(boolean logStackTraces) {
+            this.logStackTraces = logStackTraces;
+        }
+
+        public synchronized final void reset() {
+            for (int operation = 0; operation < OPERATION_COUNT; operation++)
+                errorCounts[operation] = 0L;
+
+            errorCount = 0L;
+            suppressedCount = 0L;
+            sampled = false;
+            lastError = null;
+        }
+
+        @Override
+        public void onError(Object source, int operation, Throwable error) {
+            long suppressed;
+            boolean stackTrace;
+            synchronized (this) {
+                if (operation < 0 || operation >= OPERATION_COUNT)
+                    operation = OPERATION_GENERAL;
+
+                errorCounts[operation]++;
+                errorCount++;
+                lastError = error;
+
+                long now = System.nanoTime();
+                if (sampled && now - lastSampleNanos < sampleIntervalNanos) {
+                    suppressedCount++;
+                    return;
+                }
+
+                sampled = true;
+                lastSampleNanos = now;
+
+                suppressed = suppressedCount;
+                suppressedCount = 0L;
+                stackTrace = logStackTraces;
+            }
+
+            String message = getOperationName(operation) + " failed: " + error +
+                    (suppressed > 0 ? " (" + suppressed + " similar errors suppressed)" : "");
+            try {
+                if (stackTrace)
+                    Log.w(TAG, message, error);
+                else
+                    Log.w(TAG, message);
+            } catch (Throwable e) {
+            }
+        }
+    }
+}
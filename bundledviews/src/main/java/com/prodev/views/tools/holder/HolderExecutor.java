@@ -0,0 +1,94 @@
+package com.prodev.views.tools.holder;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.os.Process;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public final class HolderExecutor {
+    private static final int MAX_POOL_SIZE = 2;
+    private static final long KEEP_ALIVE_SECONDS = 30L;
+
+    private static volatile Executor workerExecutor;
+    private static volatile Handler mainHandler;
+
+    private HolderExecutor() {
+    }
+
+    public static Executor getWorkerExecutor() {
+        if (workerExecutor == null) {
+            synchronized (HolderExecutor.class) {
+                if (workerExecutor == null) {
+                    int poolSize = Math.max(1, Math.min(Runtime.getRuntime().availableProcessors() - 1, MAX_POOL_SIZE));
+
+                    ThreadPoolExecutor executor = new ThreadPoolExecutor(
+                            poolSize, poolSize,
+                            KEEP_ALIVE_SECONDS, TimeUnit.SECONDS,
+                            new LinkedBlockingQueue<Runnable>(),
+                            new WorkerThreadFactory());
+                    executor.allowCoreThreadTimeOut(true);
+
+                    workerExecutor = executor;
+                }
+            }
+        }
+        return workerExecutor;
+    }
+
+    public static void setWorkerExecutor(Executor executor) {
+        synchronized (HolderExecutor.class) {
+            workerExecutor = executor;
+        }
+    }
+
+    public static boolean isMainThread() {
+        return Looper.myLooper() == Looper.getMainLooper();
+    }
+
+    public static void runOnMainThread(Runnable runnable) {
+        if (runnable == null) return;
+
+        if (isMainThread())
+            runnable.run();
+        else
+            postToMainThread(runnable);
+    }
+
+    public static void postToMainThread(Runnable runnable) {
+        if (runnable == null) return;
+
+        if (mainHandler == null) {
+            synchronized (HolderExecutor.class) {
+                if (mainHandler == null)
+                    mainHandler = new Handler(Looper.getMainLooper());
+            }
+        }
+        mainHandler.post(runnable);
+    }
+
+    private static class WorkerThreadFactory implements ThreadFactory {
+        private final AtomicInteger count = new AtomicInteger(1);
+
+        @Override
+        public Thread newThread(final Runnable runnable) {
+            Thread thread = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        Process.setThreadPriority(Process.THREAD_PRIORITY_BACKGROUND);
+                    } catch (Exception e) {
+                    }
+                    runnable.run();
+                }
+            }, "ViewHolder-Worker-" + count.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package com.prodev.views.tools.holder;
+
+public class HolderMetrics {
+    public static final int EVENT_CREATE = 0;
+    public static final int EVENT_BIND = 1;
+    public static final int EVENT_DESTROY = 2;
+
+    private static final int EVENT_COUNT = 3;
+
+    private final long[] counts = new long[EVENT_COUNT];
+    private final long[] totalNanos = new long[EVENT_COUNT];
+    private final long[] maxNanos = new long[EVENT_COUNT];
+
+    private int liveHolders;
+    private int maxLiveHolders;
+
+    private volatile Listener listener;
+
+    public HolderMetrics() {
+    }
+
+    public final Listener getListener() {
+        return listener;
+    }
+
+    public final void setListener(Listener listener) {
+        this.listener = listener;
+    }
+
+    public synchronized final long getCount(int event) {
+        return counts[event];
+    }
+
+    public synchronized final long getTotalNanos(int event) {
+        return totalNanos[event];
+    }
+
+    public synchronized final long getMaxNanos(int event) {
+        return maxNanos[event];
+    }
+
+    public synchronized final long getAverageNanos(int event) {
+        return counts[event] > 0 ? totalNanos[event] / counts[event] : 0L;
+    }
+
+    public synchronized final int getLiveHolders() {
+        return liveHolders;
+    }
+
+    public synchronized final int getMaxLiveHolders() {
+        return maxLiveHolders;
+    }
+
+    public final Snapshot snapshot() {
+        return snapshot(new Snapshot());
+    }
+
+    public synchronized final Snapshot snapshot(Snapshot snapshot) {
+        if (snapshot == null)
+            snapshot = new Snapshot();
+
+        System.arraycopy(counts, 0, snapshot.counts, 0, EVENT_COUNT);
+        System.arraycopy(totalNanos, 0, snapshot.totalNanos, 0, EVENT_COUNT);
+        System.arraycopy(maxNanos, 0, snapshot.maxNanos, 0, EVENT_COUNT);
+        snapshot.liveHolders = liveHolders;
+        snapshot.maxLiveHolders = maxLiveHolders;
+        return snapshot;
+    }
+
+    public synchronized final void reset() {
+        for (int event = 0; event < EVENT_COUNT; event++) {
+            counts[event] = 0L;
+            totalNanos[event] = 0L;
+            maxNanos[event] = 0L;
+        }
+        maxLiveHolders = liveHolders;
+    }
+
+    final void record(int event, long startNanos) {
+        long duration = System.nanoTime() - startNanos;
+        if (duration < 0L) duration = 0L;
+
+        synchronized (this) {
+            counts[event]++;
+            totalNanos[event] += duration;
+            if (duration > maxNanos[event]) maxNanos[event] = duration;
+        }
+
+        Listener listener = this.listener;
+        if (listener != null) {
+            try {
+                listener.onEvent(this, event, duration);
+            } catch (Exception e) {
+                HolderErrorPolicy.handle(null, this, HolderErrorPolicy.OPERATION_CALLBACK, e);
+            }
+        }
+    }
+
+    final synchronized void holderAcquired() {
+        liveHolders++;
+        if (liveHolders > maxLiveHolders) maxLiveHolders = liveHolders;
+    }
+
+    final synchronized void holderReleased() {
+        if (liveHolders > 0) liveHolders--;
+    }
+
+    public interface Listener {
+        void onEvent(HolderMetrics metrics, int event, long durationNanos);
+    }
+
+    public static final class Snapshot {
+        private final long[] counts = new long[EVENT_COUNT];
+        private final long[] totalNanos = new long[EVENT_COUNT];
+        private final long[] maxNanos = new long[EVENT_COUNT];
+
+        private int liveHolders;
+        private int maxLiveHolders;
+
+        public Snapshot() {
+        }
+
+        public final long getCount(int event) {
+            return counts[event];
+        }
+
+        public final long getTotalNanos(int event) {
+            return totalNanos[event];
+        }
+
+        public final long getMaxNanos(int event) {
+            return maxNanos[event];
+        }
+
+        public final long getAverageNanos(int event) {
+            return counts[event] > 0 ? totalNanos[event] / counts[event] : 0L;
+        }
+
+        public final int getLiveHolders() {
+            return liveHolders;
+        }
+
+        public final int getMaxLiveHolders() {
+            return maxLiveHolders;
+        }
+
+        @Override
+        public String toString() {
+            return "HolderMetrics{create=" + counts[EVENT_CREATE] + "/" + totalNanos[EVENT_CREATE] + "ns" +
+                    ", bind=" + counts[EVENT_BIND] + "/" + totalNanos[EVENT_BIND] + "ns" +
+                    ", destroy=" + counts[EVENT_DESTROY] + "/" + totalNanos[EVENT_DESTROY] + "ns" +
+                    ", live=" + liveHolders + "}";
+        }
+    }
+}
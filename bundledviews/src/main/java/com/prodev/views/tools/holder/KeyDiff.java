@@ -0,0 +1,52 @@
+package com.prodev.views.tools.holder;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+public final class KeyDiff<K> {
+    private final List<K> removedKeys;
+    private final List<K> keptKeys;
+    private final List<K> addedKeys;
+
+    KeyDiff(List<K> removedKeys, List<K> keptKeys, List<K> addedKeys) {
+        this.removedKeys = removedKeys != null ? removedKeys : new ArrayList<K>();
+        this.keptKeys = keptKeys != null ? keptKeys : new ArrayList<K>();
+        this.addedKeys = addedKeys != null ? addedKeys : new ArrayList<K>();
+    }
+
+    public final List<K> getRemovedKeys() {
+        return Collections.unmodifiableList(removedKeys);
+    }
+
+    public final List<K> getKeptKeys() {
+        return Collections.unmodifiableList(keptKeys);
+    }
+
+    public final List<K> getAddedKeys() {
+        return Collections.unmodifiableList(addedKeys);
+    }
+
+    public final int getRemovedCount() {
+        return removedKeys.size();
+    }
+
+    public final int getKeptCount() {
+        return keptKeys.size();
+    }
+
+    public final int getAddedCount() {
+        return addedKeys.size();
+    }
+
+    public final boolean hasChanges() {
+        return !removedKeys.isEmpty() || !addedKeys.isEmpty();
+    }
+
+    @Override
+    public String toString() {
+        return "KeyDiff{removed=" + removedKeys.size() +
+                ", kept=" + keptKeys.size() +
+                ", added=" + addedKeys.size() + "}";
+    }
+}
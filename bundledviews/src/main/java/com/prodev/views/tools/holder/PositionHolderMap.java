@@ -0,0 +1,248 @@
+package com.prodev.views.tools.holder;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ConcurrentModificationException;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+final class PositionHolderMap extends AbstractMap<Integer, ViewHolder> {
+    private static final int DEFAULT_CAPACITY = 8;
+    private static final int MAX_CAPACITY = Integer.MAX_VALUE - 8;
+
+    private ViewHolder[] holders = new ViewHolder[DEFAULT_CAPACITY];
+    private int size;
+    private int limit;
+    private int modCount;
+
+    private Set<Map.Entry<Integer, ViewHolder>> entrySet;
+
+    int getLimit() {
+        return limit;
+    }
+
+    ViewHolder getAt(int key) {
+        if (key < 0 || key >= limit) return null;
+        return holders[key];
+    }
+
+    /**
+     * Returns the first key from {@code key} on that has a holder, or -1 if there is none.
+     */
+    int nextKey(int key) {
+        if (key < 0) key = 0;
+        while (key < limit && holders[key] == null) key++;
+        return key < limit ? key : -1;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return get(key) != null;
+    }
+
+    @Override
+    public ViewHolder get(Object key) {
+        if (!(key instanceof Integer)) return null;
+        return getAt((Integer) key);
+    }
+
+    @Override
+    public ViewHolder put(Integer key, ViewHolder holder) {
+        if (key == null)
+            throw new NullPointerException("No key given");
+        if (key < 0)
+            throw new IllegalArgumentException("Keys must not be negative: " + key);
+        if (holder == null)
+            return remove(key);
+
+        ensureCapacity(key + 1);
+
+        ViewHolder previous = holders[key];
+        holders[key] = holder;
+        if (previous == null) {
+            size++;
+            modCount++;
+            if (limit <= key) limit = key + 1;
+        }
+        return previous;
+    }
+
+    @Override
+    public ViewHolder remove(Object key) {
+        if (!(key instanceof Integer)) return null;
+        return removeAt((Integer) key);
+    }
+
+    private ViewHolder removeAt(int key) {
+        if (key < 0 || key >= limit) return null;
+
+        ViewHolder previous = holders[key];
+        if (previous == null) return null;
+
+        holders[key] = null;
+        size--;
+        modCount++;
+        while (limit > 0 && holders[limit - 1] == null) limit--;
+        return previous;
+    }
+
+    @Override
+    public void clear() {
+        for (int key = 0; key < limit; key++)
+            holders[key] = null;
+
+        size = 0;
+        limit = 0;
+        modCount++;
+    }
+
+    /**
+     * Removes the holders of all keys from {@code count} on, returns null if there were none.
+     */
+    Map<Integer, ViewHolder> truncate(int count) {
+        if (count < 0) count = 0;
+        if (count >= limit) return null;
+
+        HashMap<Integer, ViewHolder> removedHolderMap = new HashMap<>();
+        for (int key = count; key < limit; key++) {
+            ViewHolder holder = holders[key];
+            if (holder == null) continue;
+
+            holders[key] = null;
+            size--;
+            removedHolderMap.put(key, holder);
+        }
+
+        limit = count;
+        while (limit > 0 && holders[limit - 1] == null) limit--;
+        modCount++;
+        return removedHolderMap;
+    }
+
+    /**
+     * Moves every holder from its key to {@code keyMap[key]}, holders mapped to a negative key or
+     * beyond the end of the map are removed and returned, or null if there were none.
+     */
+    Map<Integer, ViewHolder> move(int[] keyMap) {
+        int newLimit = 0;
+        for (int newKey : keyMap) {
+            if (newKey >= newLimit) newLimit = newKey + 1;
+        }
+
+        boolean[] usedKeys = new boolean[newLimit];
+        for (int newKey : keyMap) {
+            if (newKey < 0) continue;
+            if (usedKeys[newKey])
+                throw new IllegalArgumentException("Key " + newKey + " is mapped more than once");
+            usedKeys[newKey] = true;
+        }
+
+        HashMap<Integer, ViewHolder> removedHolderMap = null;
+        ViewHolder[] movedHolders = new ViewHolder[Math.max(holders.length, newLimit)];
+        int movedSize = 0;
+        for (int key = 0; key < limit; key++) {
+            ViewHolder holder = holders[key];
+            if (holder == null) continue;
+
+            int newKey = key < keyMap.length ? keyMap[key] : -1;
+            if (newKey < 0) {
+                if (removedHolderMap == null) removedHolderMap = new HashMap<>();
+                removedHolderMap.put(key, holder);
+                continue;
+            }
+
+            movedHolders[newKey] = holder;
+            movedSize++;
+        }
+
+        holders = movedHolders;
+        size = movedSize;
+        limit = newLimit;
+        while (limit > 0 && holders[limit - 1] == null) limit--;
+        modCount++;
+        return removedHolderMap;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity <= holders.length) return;
+        if (capacity > MAX_CAPACITY)
+            throw new OutOfMemoryError("Too many keys: " + capacity);
+
+        int newCapacity = holders.length <= MAX_CAPACITY / 2 ? holders.length * 2 : MAX_CAPACITY;
+        if (newCapacity < capacity) newCapacity = capacity;
+
+        ViewHolder[] newHolders = new ViewHolder[newCapacity];
+        System.arraycopy(holders, 0, newHolders, 0, limit);
+        holders = newHolders;
+    }
+
+    @Override
+    public Set<Map.Entry<Integer, ViewHolder>> entrySet() {
+        if (entrySet == null) {
+            entrySet = new AbstractSet<Map.Entry<Integer, ViewHolder>>() {
+                @Override
+                public Iterator<Map.Entry<Integer, ViewHolder>> iterator() {
+                    return new EntryIterator();
+                }
+
+                @Override
+                public int size() {
+                    return size;
+                }
+            };
+        }
+        return entrySet;
+    }
+
+    private final class EntryIterator implements Iterator<Map.Entry<Integer, ViewHolder>> {
+        private int nextKey;
+        private int lastKey = -1;
+        private int expectedModCount = modCount;
+
+        private EntryIterator() {
+            nextKey = findNext(0);
+        }
+
+        private int findNext(int key) {
+            while (key < limit && holders[key] == null) key++;
+            return key;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return nextKey < limit;
+        }
+
+        @Override
+        public Map.Entry<Integer, ViewHolder> next() {
+            if (modCount != expectedModCount)
+                throw new ConcurrentModificationException();
+            if (nextKey >= limit)
+                throw new NoSuchElementException();
+
+            lastKey = nextKey;
+            nextKey = findNext(nextKey + 1);
+            return new AbstractMap.SimpleImmutableEntry<>(lastKey, holders[lastKey]);
+        }
+
+        @Override
+        public void remove() {
+            if (lastKey < 0)
+                throw new IllegalStateException();
+            if (modCount != expectedModCount)
+                throw new ConcurrentModificationException();
+
+            removeAt(lastKey);
+            lastKey = -1;
+            expectedModCount = modCount;
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.prodev.views.tools.holder;
+
+import android.util.SparseArray;
+import android.view.View;
+import android.view.ViewGroup;
+import android.view.ViewParent;
+
+import java.util.ArrayList;
+
+public class RecycledViewPool {
+    private static final int DEFAULT_MAX_SCRAP = 5;
+
+    private final SparseArray<ScrapData> scrap;
+
+    public RecycledViewPool() {
+        this.scrap = new SparseArray<>();
+    }
+
+    public synchronized final void setMaxRecycledViews(int viewType, int max) {
+        ScrapData scrapData = getScrapData(viewType);
+        scrapData.maxScrap = Math.max(max, 0);
+
+        ArrayList<View> scrapHeap = scrapData.scrapHeap;
+        while (scrapHeap.size() > scrapData.maxScrap)
+            scrapHeap.remove(scrapHeap.size() - 1);
+    }
+
+    public synchronized final int getMaxRecycledViews(int viewType) {
+        ScrapData scrapData = scrap.get(viewType);
+        if (scrapData != null)
+            return scrapData.maxScrap;
+        return DEFAULT_MAX_SCRAP;
+    }
+
+    public synchronized final int getRecycledViewCount(int viewType) {
+        ScrapData scrapData = scrap.get(viewType);
+        if (scrapData != null)
+            return scrapData.scrapHeap.size();
+        return 0;
+    }
+
+    public synchronized final View getRecycledView(int viewType) {
+        ScrapData scrapData = scrap.get(viewType);
+        if (scrapData == null || scrapData.scrapHeap.isEmpty())
+            return null;
+
+        ArrayList<View> scrapHeap = scrapData.scrapHeap;
+        return scrapHeap.remove(scrapHeap.size() - 1);
+    }
+
+    public synchronized final boolean putRecycledView(int viewType, View view) {
+        if (view == null) return false;
+
+        ScrapData scrapData = getScrapData(viewType);
+        ArrayList<View> scrapHeap = scrapData.scrapHeap;
+        if (scrapHeap.size() >= scrapData.maxScrap || scrapHeap.contains(view))
+            return false;
+
+        try {
+            ViewParent parent = view.getParent();
+            if (parent instanceof ViewGroup)
+                ((ViewGroup) parent).removeView(view);
+        } catch (Exception e) {
+            HolderErrorPolicy.handle(null, this, HolderErrorPolicy.OPERATION_RECYCLE, e);
+            return false;
+        }
+
+        scrapHeap.add(view);
+        return true;
+    }
+
+    public synchronized final void clear() {
+        for (int i = 0; i < scrap.size(); i++) {
+            ScrapData scrapData = scrap.valueAt(i);
+            if (scrapData != null)
+                scrapData.scrapHeap.clear();
+        }
+    }
+
+    private ScrapData getScrapData(int viewType) {
+        ScrapData scrapData = scrap.get(viewType);
+        if (scrapData == null) {
+            scrapData = new ScrapData();
+            scrap.put(viewType, scrapData);
+        }
+        return scrapData;
+    }
+
+    private static class ScrapData {
+        private final ArrayList<View> scrapHeap = new ArrayList<>();
+        private int maxScrap = DEFAULT_MAX_SCRAP;
+    }
+}
@@ -0,0 +1,26 @@
+package com.prodev.views.tools.holder;
+
+import android.content.ComponentCallbacks2;
+
+public class TrimMemoryPolicy {
+    public TrimMemoryPolicy() {
+    }
+
+    public float getTrimFraction(int level) {
+        if (level >= ComponentCallbacks2.TRIM_MEMORY_MODERATE)
+            return 1f;
+        if (level >= ComponentCallbacks2.TRIM_MEMORY_BACKGROUND)
+            return 0.75f;
+        if (level >= ComponentCallbacks2.TRIM_MEMORY_UI_HIDDEN)
+            return 0.5f;
+        if (level >= ComponentCallbacks2.TRIM_MEMORY_RUNNING_CRITICAL)
+            return 0.5f;
+        if (level >= ComponentCallbacks2.TRIM_MEMORY_RUNNING_LOW)
+            return 0.25f;
+        return 0f;
+    }
+
+    public boolean shouldClearRecycledViews(int level) {
+        return level >= ComponentCallbacks2.TRIM_MEMORY_RUNNING_CRITICAL;
+    }
+}
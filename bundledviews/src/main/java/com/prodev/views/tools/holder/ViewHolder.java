@@ -3,19 +3,39 @@ package com.prodev.views.tools.holder;
 import android.content.Context;
 import androidx.annotation.IdRes;
 import androidx.annotation.LayoutRes;
+import android.util.SparseArray;
 import android.view.LayoutInflater;
 import android.view.View;
 import android.view.ViewGroup;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Executor;
+
 public abstract class ViewHolder {
     private Context context;
     private ViewGroup parentView;
 
     private View contentView;
+    private final SparseArray<View> viewCache = new SparseArray<>();
+
+    private RecycledViewPool viewPool;
+    private int viewType;
 
     private boolean created;
     private boolean bound;
 
+    private AsyncRequest asyncRequest;
+
+    private volatile HolderMetrics metrics;
+    private boolean live;
+
+    private volatile HolderErrorPolicy errorPolicy;
+
+    private volatile long lastAccess;
+    private boolean trimmed;
+
     public ViewHolder(Context context) {
         if (context == null)
             throw new NullPointerException("No context attached");
@@ -47,6 +67,43 @@ public abstract class ViewHolder {
         this.parentView = parentView;
     }
 
+    public final RecycledViewPool getRecycledViewPool() {
+        return viewPool;
+    }
+
+    public final int getViewType() {
+        return viewType;
+    }
+
+    public final void setRecycledViewPool(RecycledViewPool viewPool, int viewType) {
+        this.viewPool = viewPool;
+        this.viewType = viewType;
+    }
+
+    public final HolderMetrics getMetrics() {
+        return metrics;
+    }
+
+    public synchronized final void setMetrics(HolderMetrics metrics) {
+        if (this.metrics == metrics) return;
+
+        if (live && this.metrics != null)
+            this.metrics.holderReleased();
+
+        this.metrics = metrics;
+
+        if (live && metrics != null)
+            metrics.holderAcquired();
+    }
+
+    public final HolderErrorPolicy getErrorPolicy() {
+        return errorPolicy;
+    }
+
+    public final void setErrorPolicy(HolderErrorPolicy errorPolicy) {
+        this.errorPolicy = errorPolicy;
+    }
+
     public final View getContentView() {
         return contentView;
     }
@@ -120,16 +177,27 @@ public abstract class ViewHolder {
         return false;
     }
 
-    public final <T extends View> T findViewById(@IdRes int id) {
+    @SuppressWarnings("unchecked")
+    public synchronized final <T extends View> T findViewById(@IdRes int id) {
+        if (contentView == null) return null;
+
         try {
-            if (contentView != null)
-                return contentView.findViewById(id);
+            View view = viewCache.get(id);
+            if (view == null) {
+                view = contentView.findViewById(id);
+                if (view != null) viewCache.put(id, view);
+            }
+            return (T) view;
         } catch (Exception e) {
-            e.printStackTrace();
+            handleError(HolderErrorPolicy.OPERATION_GENERAL, e);
         }
         return null;
     }
 
+    public synchronized final void clearViewCache() {
+        viewCache.clear();
+    }
+
     public final View inflateLayout(@LayoutRes int id) {
         return inflateLayout(id, true);
     }
@@ -146,7 +214,7 @@ public abstract class ViewHolder {
             else
                 return inflater.inflate(id, null);
         } catch (Exception e) {
-            e.printStackTrace();
+            handleError(HolderErrorPolicy.OPERATION_CREATE, e);
         }
         return null;
     }
@@ -159,8 +227,36 @@ public abstract class ViewHolder {
         return bound;
     }
 
+    public synchronized final boolean isCreating() {
+        return asyncRequest != null;
+    }
+
+    public synchronized final boolean isTrimmed() {
+        return trimmed;
+    }
+
+    final long getLastAccess() {
+        return lastAccess;
+    }
+
+    final void markAccessed(long lastAccess) {
+        this.lastAccess = lastAccess;
+    }
+
+    synchronized final boolean isTrimmable() {
+        return contentView != null && contentView.getParent() == null && asyncRequest == null && !trimmed;
+    }
+
+    synchronized final boolean trim() {
+        if (!isTrimmable()) return false;
+
+        destroy(false);
+        trimmed = true;
+        return true;
+    }
+
     public synchronized final boolean recreate() {
-        destroy();
+        destroy(false);
         return create();
     }
 
@@ -172,16 +268,26 @@ public abstract class ViewHolder {
         if (contentView == null) {
             created = false;
             bound = false;
+
+            if (asyncRequest != null)
+                return false;
         }
 
         try {
             if (contentView == null || !isCreated()) {
-                contentView = createHolder(parentView);
-                if (contentView != null) created = true;
+                viewCache.clear();
+                contentView = obtainRecycledView();
+                if (contentView == null)
+                    contentView = performCreateHolder();
+                if (contentView != null) {
+                    created = true;
+                    trimmed = false;
+                }
             }
         } catch (Exception e) {
-            e.printStackTrace();
+            handleError(HolderErrorPolicy.OPERATION_CREATE, e);
         }
+        updateLive();
 
         if (contentView == null) {
             created = false;
@@ -192,34 +298,285 @@ public abstract class ViewHolder {
 
         try {
             if (!isBound() || rebind) {
-                bindHolder(contentView);
+                performBindHolder(contentView, null);
                 bound = true;
             }
         } catch (Exception e) {
-            e.printStackTrace();
+            handleError(HolderErrorPolicy.OPERATION_BIND, e);
         }
 
         return true;
     }
 
+    public synchronized final boolean bind(Object payload) {
+        return bind(payload != null ? Collections.singletonList(payload) : Collections.emptyList());
+    }
+
+    public synchronized final boolean bind(List<Object> payloads) {
+        if (contentView == null) return false;
+
+        try {
+            if (!isBound() || payloads == null || payloads.isEmpty())
+                performBindHolder(contentView, null);
+            else
+                performBindHolder(contentView, payloads);
+            bound = true;
+        } catch (Exception e) {
+            handleError(HolderErrorPolicy.OPERATION_BIND, e);
+            return false;
+        }
+        return true;
+    }
+
+    public final void createAsync(OnCreateListener listener) {
+        createAsync(false, listener);
+    }
+
+    public final void createAsync(boolean rebind, OnCreateListener listener) {
+        createAsync(HolderExecutor.getWorkerExecutor(), rebind, listener);
+    }
+
+    public final void createAsync(Executor executor, final boolean rebind, final OnCreateListener listener) {
+        final AsyncRequest request;
+        synchronized (this) {
+            if (contentView != null || executor == null) {
+                request = null;
+            } else if (asyncRequest != null) {
+                asyncRequest.add(rebind, listener);
+                return;
+            } else {
+                request = asyncRequest = new AsyncRequest(rebind, listener);
+            }
+        }
+
+        if (request == null) {
+            HolderExecutor.runOnMainThread(new Runnable() {
+                @Override
+                public void run() {
+                    boolean created = create(rebind);
+                    dispatchCreated(listener, created);
+                }
+            });
+            return;
+        }
+
+        final View recycledView = obtainRecycledView();
+        if (recycledView != null) {
+            HolderExecutor.runOnMainThread(new Runnable() {
+                @Override
+                public void run() {
+                    finishAsync(request, recycledView);
+                }
+            });
+            return;
+        }
+
+        try {
+            executor.execute(new Runnable() {
+                @Override
+                public void run() {
+                    View view = null;
+                    Exception error = null;
+                    try {
+                        view = performCreateHolder();
+                    } catch (Exception e) {
+                        error = e;
+                    }
+
+                    // A failed inflation is retried on the main thread, the error is reported there
+                    final View createdView = view;
+                    final Exception createError = error;
+                    HolderExecutor.postToMainThread(new Runnable() {
+                        @Override
+                        public void run() {
+                            try {
+                                finishAsync(request, createdView);
+                            } finally {
+                                if (createError != null)
+                                    handleError(HolderErrorPolicy.OPERATION_CREATE, createError);
+                            }
+                        }
+                    });
+                }
+            });
+        } catch (Exception e) {
+            HolderExecutor.runOnMainThread(new Runnable() {
+                @Override
+                public void run() {
+                    finishAsync(request, null);
+                }
+            });
+        }
+    }
+
+    private void finishAsync(AsyncRequest request, View view) {
+        boolean created = false;
+        synchronized (this) {
+            if (asyncRequest == request) {
+                asyncRequest = null;
+
+                if (contentView == null && view != null) {
+                    viewCache.clear();
+                    contentView = view;
+                    this.created = true;
+                    bound = false;
+                    updateLive();
+                } else if (view != null && view != contentView) {
+                    recycleView(view);
+                }
+
+                created = create(request.rebind);
+            } else if (view != null) {
+                recycleView(view);
+            }
+        }
+
+        for (OnCreateListener listener : request.listeners)
+            dispatchCreated(listener, created);
+    }
+
+    private void recycleView(View view) {
+        try {
+            if (viewPool != null)
+                viewPool.putRecycledView(viewType, view);
+        } catch (Exception e) {
+            handleError(HolderErrorPolicy.OPERATION_RECYCLE, e);
+        }
+    }
+
+    private void dispatchCreated(OnCreateListener listener, boolean created) {
+        try {
+            if (listener != null)
+                listener.onCreated(this, created);
+        } catch (Exception e) {
+            handleError(HolderErrorPolicy.OPERATION_CALLBACK, e);
+        }
+    }
+
     public synchronized final void destroy() {
+        destroy(true);
+    }
+
+    private void destroy(boolean recycle) {
+        asyncRequest = null;
+        trimmed = false;
+
         try {
             if (contentView != null)
-                destroyHolder(contentView);
+                performDestroyHolder(contentView);
         } catch (Exception e) {
-            e.printStackTrace();
+            handleError(HolderErrorPolicy.OPERATION_DESTROY, e);
+        }
+
+        try {
+            if (recycle && contentView != null && viewPool != null)
+                viewPool.putRecycledView(viewType, contentView);
+        } catch (Exception e) {
+            handleError(HolderErrorPolicy.OPERATION_RECYCLE, e);
         }
 
         contentView = null;
+        viewCache.clear();
+        updateLive();
 
         created = false;
         bound = false;
     }
 
+    private View performCreateHolder() {
+        HolderMetrics metrics = this.metrics;
+        if (metrics == null)
+            return createHolder(parentView);
+
+        long start = System.nanoTime();
+        try {
+            return createHolder(parentView);
+        } finally {
+            metrics.record(HolderMetrics.EVENT_CREATE, start);
+        }
+    }
+
+    private void performBindHolder(View contentView, List<Object> payloads) {
+        HolderMetrics metrics = this.metrics;
+        long start = metrics != null ? System.nanoTime() : 0L;
+        try {
+            if (payloads == null)
+                bindHolder(contentView);
+            else
+                bindHolder(contentView, payloads);
+        } finally {
+            if (metrics != null)
+                metrics.record(HolderMetrics.EVENT_BIND, start);
+        }
+    }
+
+    private void performDestroyHolder(View contentView) {
+        HolderMetrics metrics = this.metrics;
+        long start = metrics != null ? System.nanoTime() : 0L;
+        try {
+            destroyHolder(contentView);
+        } finally {
+            if (metrics != null)
+                metrics.record(HolderMetrics.EVENT_DESTROY, start);
+        }
+    }
+
+    private void handleError(int operation, Exception e) {
+        HolderErrorPolicy.handle(errorPolicy, this, operation, e);
+    }
+
+    private void updateLive() {
+        boolean live = contentView != null;
+        if (this.live == live) return;
+
+        this.live = live;
+
+        HolderMetrics metrics = this.metrics;
+        if (metrics == null) return;
+
+        if (live)
+            metrics.holderAcquired();
+        else
+            metrics.holderReleased();
+    }
+
+    private View obtainRecycledView() {
+        try {
+            if (viewPool != null)
+                return viewPool.getRecycledView(viewType);
+        } catch (Exception e) {
+            handleError(HolderErrorPolicy.OPERATION_RECYCLE, e);
+        }
+        return null;
+    }
+
     protected void destroyHolder(View contentView) {
     }
 
     protected abstract View createHolder(ViewGroup parentView);
 
     protected abstract void bindHolder(View contentView);
+
+    protected void bindHolder(View contentView, List<Object> payloads) {
+        bindHolder(contentView);
+    }
+
+    public interface OnCreateListener {
+        void onCreated(ViewHolder holder, boolean created);
+    }
+
+    private static class AsyncRequest {
+        private final ArrayList<OnCreateListener> listeners = new ArrayList<>(1);
+        private boolean rebind;
+
+        private AsyncRequest(boolean rebind, OnCreateListener listener) {
+            add(rebind, listener);
+        }
+
+        private void add(boolean rebind, OnCreateListener listener) {
+            this.rebind |= rebind;
+            if (listener != null)
+                listeners.add(listener);
+        }
+    }
 }
@@ -1,6 +1,8 @@
 package com.prodev.views.tools.holder;
 
+import android.content.ComponentCallbacks2;
 import android.content.Context;
+import android.content.res.Configuration;
 import androidx.annotation.IdRes;
 import androidx.annotation.LayoutRes;
 import androidx.annotation.NonNull;
@@ -8,31 +10,110 @@ import android.view.LayoutInflater;
 import android.view.View;
 import android.view.ViewGroup;
 
+import java.lang.ref.WeakReference;
+import java.util.AbstractMap;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.NavigableMap;
 import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 public abstract class ViewsHolder<K> implements Iterable<Map.Entry<K, ViewHolder>> {
+    public static final int STORAGE_HASHED = 0;
+    public static final int STORAGE_POSITIONS = 1;
+
     private Context context;
     private ViewGroup parentView;
 
-    private HashMap<K, ViewHolder> holderMap;
+    private final boolean concurrent;
+    private final boolean ordered;
+    private final boolean positional;
+    private final Map<K, ViewHolder> holderMap;
+
+    private RecycledViewPool viewPool;
+    private volatile HolderMetrics metrics;
+    private volatile HolderErrorPolicy errorPolicy;
+
+    private final Object transactionLock = new Object();
+    private int transactionDepth;
+    private LinkedHashMap<K, PendingAttach> pendingAttaches;
+    private ArrayList<Map.Entry<K, ViewHolder>> pendingDestroys;
+
+    private final AtomicLong accessClock = new AtomicLong();
+    private TrimMemoryPolicy trimMemoryPolicy;
+    private TrimCallbacks trimCallbacks;
 
     public ViewsHolder(Context context) {
+        this(context, false);
+    }
+
+    public ViewsHolder(Context context, boolean concurrent) {
+        this(context, concurrent, false, null);
+    }
+
+    public ViewsHolder(Context context, boolean concurrent, boolean ordered) {
+        this(context, concurrent, ordered, null);
+    }
+
+    public ViewsHolder(Context context, boolean concurrent, Comparator<? super K> comparator) {
+        this(context, concurrent, true, comparator);
+    }
+
+    private ViewsHolder(Context context, boolean concurrent, boolean ordered, Comparator<? super K> comparator) {
+        if (context == null)
+            throw new NullPointerException("No context attached");
+
+        this.context = context;
+
+        this.concurrent = concurrent;
+        this.ordered = ordered;
+        this.positional = false;
+        this.holderMap = createHolderMap(concurrent, ordered, comparator);
+    }
+
+    @SuppressWarnings("unchecked")
+    public ViewsHolder(Context context, int storage) {
         if (context == null)
             throw new NullPointerException("No context attached");
 
         this.context = context;
 
-        this.holderMap = new HashMap<>();
+        this.positional = isPositional(storage);
+        this.concurrent = false;
+        this.ordered = positional;
+        this.holderMap = positional ? (Map<K, ViewHolder>) new PositionHolderMap() : new HashMap<K, ViewHolder>();
     }
 
     public ViewsHolder(ViewGroup parentView) {
+        this(parentView, false);
+    }
+
+    public ViewsHolder(ViewGroup parentView, boolean concurrent) {
+        this(parentView, concurrent, false, null);
+    }
+
+    public ViewsHolder(ViewGroup parentView, boolean concurrent, boolean ordered) {
+        this(parentView, concurrent, ordered, null);
+    }
+
+    public ViewsHolder(ViewGroup parentView, boolean concurrent, Comparator<? super K> comparator) {
+        this(parentView, concurrent, true, comparator);
+    }
+
+    private ViewsHolder(ViewGroup parentView, boolean concurrent, boolean ordered, Comparator<? super K> comparator) {
         if (parentView == null)
             throw new NullPointerException("No parent view attached");
 
@@ -43,7 +124,231 @@ public abstract class ViewsHolder<K> implements Iterable<Map.Entry<K, ViewHolder
 
         this.parentView = parentView;
 
-        this.holderMap = new HashMap<>();
+        this.concurrent = concurrent;
+        this.ordered = ordered;
+        this.positional = false;
+        this.holderMap = createHolderMap(concurrent, ordered, comparator);
+    }
+
+    @SuppressWarnings("unchecked")
+    public ViewsHolder(ViewGroup parentView, int storage) {
+        if (parentView == null)
+            throw new NullPointerException("No parent view attached");
+
+        this.context = parentView.getContext();
+
+        if (context == null)
+            throw new NullPointerException("No context attached");
+
+        this.parentView = parentView;
+
+        this.positional = isPositional(storage);
+        this.concurrent = false;
+        this.ordered = positional;
+        this.holderMap = positional ? (Map<K, ViewHolder>) new PositionHolderMap() : new HashMap<K, ViewHolder>();
+    }
+
+    private static boolean isPositional(int storage) {
+        switch (storage) {
+            case STORAGE_HASHED:
+                return false;
+            case STORAGE_POSITIONS:
+                return true;
+            default:
+                throw new IllegalArgumentException("Unknown storage: " + storage);
+        }
+    }
+
+    private static <K> Map<K, ViewHolder> createHolderMap(boolean concurrent, boolean ordered, Comparator<? super K> comparator) {
+        if (ordered)
+            return concurrent ? new ConcurrentSkipListMap<K, ViewHolder>(comparator) : new TreeMap<K, ViewHolder>(comparator);
+        return concurrent ? new ConcurrentHashMap<K, ViewHolder>() : new HashMap<K, ViewHolder>();
+    }
+
+    public final boolean isConcurrent() {
+        return concurrent;
+    }
+
+    public final boolean isOrdered() {
+        return ordered;
+    }
+
+    public final boolean isPositional() {
+        return positional;
+    }
+
+    public final Comparator<? super K> getKeyComparator() {
+        if (!ordered || positional) return null;
+        return getNavigableMap().comparator();
+    }
+
+    @SuppressWarnings("unchecked")
+    public final K getFirstKey() {
+        synchronized (holderMap) {
+            if (positional) {
+                int key = getPositionMap().nextKey(0);
+                return key >= 0 ? (K) Integer.valueOf(key) : null;
+            }
+
+            NavigableMap<K, ViewHolder> navigableMap = getNavigableMap();
+            return navigableMap.isEmpty() ? null : navigableMap.firstKey();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    public final K getLastKey() {
+        synchronized (holderMap) {
+            if (positional) {
+                int keyLimit = getPositionMap().getLimit();
+                return keyLimit > 0 ? (K) Integer.valueOf(keyLimit - 1) : null;
+            }
+
+            NavigableMap<K, ViewHolder> navigableMap = getNavigableMap();
+            return navigableMap.isEmpty() ? null : navigableMap.lastKey();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    public final List<K> getKeyRange(K from, K to) {
+        synchronized (holderMap) {
+            if (positional) {
+                PositionHolderMap positionMap = getPositionMap();
+                int[] range = getPositionRange(from, to, positionMap.getLimit());
+
+                ArrayList<K> keys = new ArrayList<>();
+                for (int key = positionMap.nextKey(range[0]); key >= 0 && key <= range[1]; key = positionMap.nextKey(key + 1))
+                    keys.add((K) Integer.valueOf(key));
+                return keys;
+            }
+
+            return new ArrayList<>(getRange(from, to).keySet());
+        }
+    }
+
+    public final boolean createRange(K from, K to) {
+        return createRange(from, to, false);
+    }
+
+    public final boolean createRange(K from, K to, boolean rebind) {
+        ArrayList<ViewHolder> holders;
+        synchronized (holderMap) {
+            if (positional) {
+                PositionHolderMap positionMap = getPositionMap();
+                int[] range = getPositionRange(from, to, positionMap.getLimit());
+
+                holders = new ArrayList<>();
+                for (int key = positionMap.nextKey(range[0]); key >= 0 && key <= range[1]; key = positionMap.nextKey(key + 1))
+                    holders.add(positionMap.getAt(key));
+            } else {
+                holders = new ArrayList<>(getRange(from, to).values());
+            }
+        }
+
+        boolean created = true;
+        for (ViewHolder holder : holders) {
+            if (holder == null) continue;
+
+            created &= performCreate(holder, rebind);
+        }
+        return created;
+    }
+
+    public final int destroyOutside(K from, K to) {
+        ArrayList<Map.Entry<K, ViewHolder>> holderEntries = new ArrayList<>();
+        synchronized (holderMap) {
+            if (positional) {
+                PositionHolderMap positionMap = getPositionMap();
+                int keyLimit = positionMap.getLimit();
+                int[] range = getPositionRange(from, to, keyLimit);
+
+                if (from != null)
+                    collectCreated(positionMap, 0, Math.min(range[0], keyLimit), holderEntries);
+                if (to != null && range[1] < keyLimit)
+                    collectCreated(positionMap, Math.max(range[1] + 1, 0), keyLimit, holderEntries);
+            } else {
+                collectOutside(from, to, holderEntries);
+            }
+        }
+
+        int destroyed = 0;
+        for (Map.Entry<K, ViewHolder> holderEntry : holderEntries) {
+            if (performDestroy(holderEntry.getKey(), holderEntry.getValue()))
+                destroyed++;
+        }
+        return destroyed;
+    }
+
+    private void collectOutside(K from, K to, List<Map.Entry<K, ViewHolder>> holderEntries) {
+        NavigableMap<K, ViewHolder> navigableMap = getNavigableMap();
+            if (from != null && to != null && compareKeys(navigableMap, from, to) > 0) {
+                K key = from;
+                from = to;
+                to = key;
+            }
+
+        if (from != null)
+            collectCreated(navigableMap.headMap(from, false), holderEntries);
+        if (to != null)
+            collectCreated(navigableMap.tailMap(to, false), holderEntries);
+    }
+
+    private NavigableMap<K, ViewHolder> getNavigableMap() {
+        if (!ordered)
+            throw new UnsupportedOperationException("Key range operations require an ordered ViewsHolder");
+        return (NavigableMap<K, ViewHolder>) holderMap;
+    }
+
+    /**
+     * Returns the inclusive bounds of a position range, an open bound reaches the end of the keys.
+     */
+    private static int[] getPositionRange(Object from, Object to, int keyLimit) {
+        int start = from != null ? (Integer) from : 0;
+        int end = to != null ? (Integer) to : keyLimit - 1;
+        if (from != null && to != null && start > end) {
+            int key = start;
+            start = end;
+            end = key;
+        }
+        return new int[]{Math.max(start, 0), end};
+    }
+
+    private NavigableMap<K, ViewHolder> getRange(K from, K to) {
+        NavigableMap<K, ViewHolder> navigableMap = getNavigableMap();
+        if (from != null && to != null) {
+            if (compareKeys(navigableMap, from, to) > 0)
+                return navigableMap.subMap(to, true, from, true);
+            return navigableMap.subMap(from, true, to, true);
+        }
+        if (from != null)
+            return navigableMap.tailMap(from, true);
+        if (to != null)
+            return navigableMap.headMap(to, true);
+        return navigableMap;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <K> int compareKeys(NavigableMap<K, ViewHolder> navigableMap, K first, K second) {
+        Comparator<? super K> comparator = navigableMap.comparator();
+        if (comparator != null)
+            return comparator.compare(first, second);
+        return ((Comparable<? super K>) first).compareTo(second);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <K> void collectCreated(PositionHolderMap positionMap, int start, int end, List<Map.Entry<K, ViewHolder>> holderEntries) {
+        for (int key = start; key < end; key++) {
+            ViewHolder holder = positionMap.getAt(key);
+            if (holder != null && holder.isCreated())
+                holderEntries.add(new AbstractMap.SimpleImmutableEntry<>((K) Integer.valueOf(key), holder));
+        }
+    }
+
+    private static <K> void collectCreated(Map<K, ViewHolder> holderMap, List<Map.Entry<K, ViewHolder>> holderEntries) {
+        for (Map.Entry<K, ViewHolder> holderEntry : holderMap.entrySet()) {
+            ViewHolder holder = holderEntry.getValue();
+            if (holder != null && holder.isCreated())
+                holderEntries.add(new AbstractMap.SimpleImmutableEntry<>(holderEntry.getKey(), holder));
+        }
     }
 
     public final int getSize() {
@@ -73,41 +378,336 @@ public abstract class ViewsHolder<K> implements Iterable<Map.Entry<K, ViewHolder
         this.parentView = parentView;
     }
 
+    public final RecycledViewPool getRecycledViewPool() {
+        return viewPool;
+    }
+
+    public final void setRecycledViewPool(RecycledViewPool viewPool) {
+        synchronized (holderMap) {
+            this.viewPool = viewPool;
+
+            for (Map.Entry<K, ViewHolder> holderEntry : holderMap.entrySet()) {
+                if (holderEntry == null) continue;
+
+                K key = holderEntry.getKey();
+                ViewHolder holder = holderEntry.getValue();
+                if (key == null || holder == null) continue;
+
+                try {
+                    holder.setRecycledViewPool(viewPool, getViewType(key));
+                } catch (Exception e) {
+                    handleError(HolderErrorPolicy.OPERATION_GENERAL, e);
+                }
+            }
+        }
+    }
+
+    public final void setMaxRecycledViews(int viewType, int max) {
+        synchronized (holderMap) {
+            if (viewPool == null)
+                setRecycledViewPool(new RecycledViewPool());
+
+            viewPool.setMaxRecycledViews(viewType, max);
+        }
+    }
+
+    public final HolderMetrics getMetrics() {
+        return metrics;
+    }
+
+    public final void setMetrics(HolderMetrics metrics) {
+        synchronized (holderMap) {
+            this.metrics = metrics;
+
+            for (ViewHolder holder : holderMap.values()) {
+                if (holder == null) continue;
+
+                try {
+                    holder.setMetrics(metrics);
+                } catch (Exception e) {
+                    handleError(HolderErrorPolicy.OPERATION_GENERAL, e);
+                }
+            }
+        }
+    }
+
+    public final HolderErrorPolicy getErrorPolicy() {
+        return errorPolicy;
+    }
+
+    public final void setErrorPolicy(HolderErrorPolicy errorPolicy) {
+        synchronized (holderMap) {
+            this.errorPolicy = errorPolicy;
+
+            for (ViewHolder holder : holderMap.values()) {
+                if (holder == null) continue;
+
+                holder.setErrorPolicy(errorPolicy);
+            }
+        }
+    }
+
+    public final TrimMemoryPolicy getTrimMemoryPolicy() {
+        synchronized (holderMap) {
+            return trimMemoryPolicy;
+        }
+    }
+
+    public final void setTrimMemoryPolicy(TrimMemoryPolicy trimMemoryPolicy) {
+        synchronized (holderMap) {
+            this.trimMemoryPolicy = trimMemoryPolicy;
+
+            Context appContext = context.getApplicationContext();
+            if (appContext == null) appContext = context;
+
+            try {
+                if (trimMemoryPolicy != null && trimCallbacks == null) {
+                    trimCallbacks = new TrimCallbacks(this, appContext);
+                    appContext.registerComponentCallbacks(trimCallbacks);
+                } else if (trimMemoryPolicy == null && trimCallbacks != null) {
+                    appContext.unregisterComponentCallbacks(trimCallbacks);
+                    trimCallbacks = null;
+                }
+            } catch (Exception e) {
+                handleError(HolderErrorPolicy.OPERATION_GENERAL, e);
+            }
+        }
+    }
+
+    public final int trimMemory(int level) {
+        TrimMemoryPolicy policy = getTrimMemoryPolicy();
+        if (policy == null) policy = new TrimMemoryPolicy();
+
+        float fraction = policy.getTrimFraction(level);
+
+        int trimmed = 0;
+        if (fraction > 0f) {
+            ArrayList<Map.Entry<K, ViewHolder>> candidates = new ArrayList<>();
+            for (Map.Entry<K, ViewHolder> holderEntry : snapshotEntries()) {
+                ViewHolder holder = holderEntry.getValue();
+                if (holder != null && holder.isTrimmable())
+                    candidates.add(holderEntry);
+            }
+
+            Collections.sort(candidates, new Comparator<Map.Entry<K, ViewHolder>>() {
+                @Override
+                public int compare(Map.Entry<K, ViewHolder> first, Map.Entry<K, ViewHolder> second) {
+                    long firstAccess = first.getValue().getLastAccess();
+                    long secondAccess = second.getValue().getLastAccess();
+                    return firstAccess < secondAccess ? -1 : (firstAccess == secondAccess ? 0 : 1);
+                }
+            });
+
+            int count = Math.min(candidates.size(), (int) Math.ceil(candidates.size() * Math.min(fraction, 1f)));
+            for (int i = 0; i < count; i++) {
+                try {
+                    if (candidates.get(i).getValue().trim())
+                        trimmed++;
+                } catch (Exception e) {
+                    handleError(HolderErrorPolicy.OPERATION_DESTROY, e);
+                }
+            }
+        }
+
+        try {
+            RecycledViewPool viewPool = this.viewPool;
+            if (viewPool != null && policy.shouldClearRecycledViews(level))
+                viewPool.clear();
+        } catch (Exception e) {
+            handleError(HolderErrorPolicy.OPERATION_RECYCLE, e);
+        }
+        return trimmed;
+    }
+
     public final Iterator<K> keyIterator() {
         synchronized (holderMap) {
-            return new IteratorWrapper<>(holderMap.keySet());
+            return new IteratorWrapper<>(new ArrayList<>(holderMap.keySet()));
         }
     }
 
     public final Iterator<ViewHolder> holderIterator() {
         synchronized (holderMap) {
-            return new IteratorWrapper<>(holderMap.values());
+            return new IteratorWrapper<>(new ArrayList<>(holderMap.values()));
         }
     }
 
     public final Iterator<Map.Entry<K, ViewHolder>> entryIterator() {
+        return new IteratorWrapper<>(snapshotEntries());
+    }
+
+    private ArrayList<Map.Entry<K, ViewHolder>> snapshotEntries() {
         synchronized (holderMap) {
-            return new IteratorWrapper<>(holderMap.entrySet());
+            ArrayList<Map.Entry<K, ViewHolder>> entries = new ArrayList<>(holderMap.size());
+            for (Map.Entry<K, ViewHolder> holderEntry : holderMap.entrySet()) {
+                if (holderEntry == null) continue;
+
+                entries.add(new AbstractMap.SimpleImmutableEntry<>(holderEntry.getKey(), holderEntry.getValue()));
+            }
+            return entries;
         }
     }
 
     public final void setKeys(ArrayList<K> keys) {
-        setKeys(keys, true);
+        updateKeys(keys, true);
     }
 
     public final void setKeys(ArrayList<K> keys, boolean create) {
-        setKeys(keys, create, false);
+        updateKeys(keys, create, false);
     }
 
     public final void setKeys(ArrayList<K> keys, boolean create, boolean rebind) {
-        if (keys == null) return;
+        updateKeys(keys, create, rebind);
+    }
+
+    public final KeyDiff<K> updateKeys(Collection<K> keys) {
+        return updateKeys(keys, true);
+    }
+
+    public final KeyDiff<K> updateKeys(Collection<K> keys, boolean create) {
+        return updateKeys(keys, create, false);
+    }
+
+    public final KeyDiff<K> updateKeys(Collection<K> keys, boolean create, boolean rebind) {
+        if (keys == null) return new KeyDiff<>(null, null, null);
 
+        KeyDiff<K> keyDiff;
+        ArrayList<ViewHolder> pendingHolders = null;
         synchronized (holderMap) {
-            removeViewHolders(keys, true, true);
-            addViewHolders(keys, create, rebind);
+            HashSet<K> keySet = new HashSet<>(Math.max((int) (keys.size() / .75f) + 1, 16));
+
+            ArrayList<K> keptKeys = new ArrayList<>(Math.min(keys.size(), holderMap.size()));
+            ArrayList<K> addedKeys = new ArrayList<>();
+            for (K key : keys) {
+                if (key == null || !keySet.add(key)) continue;
+
+                if (holderMap.containsKey(key))
+                    keptKeys.add(key);
+                else
+                    addedKeys.add(key);
+            }
+
+            ArrayList<K> removedKeys = new ArrayList<>();
+            HashMap<K, ViewHolder> removedHolderMap = null;
+            if (keptKeys.size() < holderMap.size()) {
+                removedHolderMap = new HashMap<>();
+
+                Iterator<Map.Entry<K, ViewHolder>> entryIterator = holderMap.entrySet().iterator();
+                while (entryIterator.hasNext()) {
+                    Map.Entry<K, ViewHolder> holderEntry = entryIterator.next();
+
+                    K key = holderEntry.getKey();
+                    if (key == null || keySet.contains(key)) continue;
+
+                    entryIterator.remove();
+                    removedKeys.add(key);
+                    removedHolderMap.put(key, holderEntry.getValue());
+                }
+            }
+
+            keyDiff = new KeyDiff<>(removedKeys, keptKeys, addedKeys);
+            if (!keyDiff.hasChanges())
+                return keyDiff;
+
+            if (removedHolderMap != null)
+                destroyViewHolders(removedHolderMap);
+
+            if (create)
+                pendingHolders = new ArrayList<>(addedKeys.size());
+
+            for (K key : addedKeys) {
+                ViewHolder holder = getViewHolder(key);
+                if (holder != null && pendingHolders != null)
+                    pendingHolders.add(holder);
+            }
+
+            // Kept holders are only created if they are not yet, they are never rebound
+            if (create) {
+                for (K key : keptKeys) {
+                    ViewHolder holder = holderMap.get(key);
+                    if (holder == null || (holder.isCreated() && holder.isBound())) continue;
+
+                    pendingHolders.add(holder);
+                }
+            }
+        }
+
+        if (pendingHolders != null) {
+            for (ViewHolder holder : pendingHolders) {
+                try {
+                    holder.create(rebind);
+                } catch (Exception e) {
+                    handleError(HolderErrorPolicy.OPERATION_CREATE, e);
+                }
+            }
+        }
+
+        return keyDiff;
+    }
+
+    public final int getKeyLimit() {
+        synchronized (holderMap) {
+            return getPositionMap().getLimit();
+        }
+    }
+
+    public final void setKeyCount(int count) {
+        setKeyCount(count, true);
+    }
+
+    public final void setKeyCount(int count, boolean create) {
+        setKeyCount(count, create, false);
+    }
+
+    @SuppressWarnings("unchecked")
+    public final void setKeyCount(int count, boolean create, boolean rebind) {
+        if (count < 0) count = 0;
+
+        synchronized (holderMap) {
+            Map<Integer, ViewHolder> removedHolderMap = getPositionMap().truncate(count);
+            if (removedHolderMap != null)
+                destroyViewHolders((Map<K, ViewHolder>) removedHolderMap);
+        }
+
+        for (int key = 0; key < count; key++) {
+            ViewHolder holder = getViewHolderAt(key);
+            if (holder == null || !create) continue;
+            if (!rebind && holder.isCreated() && holder.isBound()) continue;
+
+            performCreate(holder, rebind);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    public final void moveKeys(int[] keyMap) {
+        if (keyMap == null)
+            throw new NullPointerException("No key map attached");
+        if (isInTransaction())
+            throw new IllegalStateException("Keys cannot be moved during a transaction");
+
+        synchronized (holderMap) {
+            PositionHolderMap positionMap = getPositionMap();
+
+            Map<Integer, ViewHolder> removedHolderMap = positionMap.move(keyMap);
+            for (int key = 0, keyLimit = positionMap.getLimit(); key < keyLimit; key++) {
+                ViewHolder holder = positionMap.getAt(key);
+                if (!(holder instanceof ViewsHolder.KeyedViewHolder)) continue;
+
+                ViewsHolder<K>.KeyedViewHolder keyedHolder = (ViewsHolder<K>.KeyedViewHolder) holder;
+                if ((Integer) keyedHolder.key != key)
+                    keyedHolder.key = (K) Integer.valueOf(key);
+            }
+
+            if (removedHolderMap != null)
+                destroyViewHolders((Map<K, ViewHolder>) removedHolderMap);
         }
     }
 
+    private PositionHolderMap getPositionMap() {
+        if (!positional)
+            throw new UnsupportedOperationException("Key counts require a positional ViewsHolder");
+        return (PositionHolderMap) holderMap;
+    }
+
     public final HashMap<K, ViewHolder> clearViewHolders() {
         return clearViewHolders(true);
     }
@@ -152,12 +752,11 @@ public abstract class ViewsHolder<K> implements Iterable<Map.Entry<K, ViewHolder
     public final HashMap<K, ViewHolder> addViewHolders(Collection<K> keys, boolean create, boolean rebind) {
         if (keys == null) return new HashMap<>();
 
-        synchronized (holderMap) {
-            Iterator<K> keyIterator = keys.iterator();
-            if (keyIterator == null) return new HashMap<>();
-
-            HashMap<K, ViewHolder> addedHolderMap = new HashMap<>();
+        Iterator<K> keyIterator = keys.iterator();
+        if (keyIterator == null) return new HashMap<>();
 
+        HashMap<K, ViewHolder> addedHolderMap = new HashMap<>();
+        if (concurrent) {
             while (keyIterator.hasNext()) {
                 K key = keyIterator.next();
                 if (key == null) continue;
@@ -167,24 +766,36 @@ public abstract class ViewsHolder<K> implements Iterable<Map.Entry<K, ViewHolder
 
                 addedHolderMap.put(key, holder);
             }
+        } else {
+            synchronized (holderMap) {
+                while (keyIterator.hasNext()) {
+                    K key = keyIterator.next();
+                    if (key == null) continue;
 
-            if (create) {
-                for (Map.Entry<K, ViewHolder> holderEntry : addedHolderMap.entrySet()) {
-                    if (holderEntry == null) continue;
-
-                    ViewHolder holder = holderEntry.getValue();
+                    ViewHolder holder = getViewHolder(key);
                     if (holder == null) continue;
 
-                    try {
-                        holder.create(rebind);
-                    } catch (Exception e) {
-                        e.printStackTrace();
-                    }
+                    addedHolderMap.put(key, holder);
                 }
             }
+        }
 
-            return addedHolderMap;
+        if (create) {
+            for (Map.Entry<K, ViewHolder> holderEntry : addedHolderMap.entrySet()) {
+                if (holderEntry == null) continue;
+
+                ViewHolder holder = holderEntry.getValue();
+                if (holder == null) continue;
+
+                try {
+                    holder.create(rebind);
+                } catch (Exception e) {
+                    handleError(HolderErrorPolicy.OPERATION_CREATE, e);
+                }
+            }
         }
+
+        return addedHolderMap;
     }
 
     public final ViewHolder removeViewHolder(K key) {
@@ -218,13 +829,17 @@ public abstract class ViewsHolder<K> implements Iterable<Map.Entry<K, ViewHolder
             Iterator<K> keyIterator = keySet.iterator();
             if (keyIterator == null) return new HashMap<>();
 
+            Collection<K> keyLookup = keys;
+            if (keySet != keys && !(keys instanceof Set))
+                keyLookup = new HashSet<>(keys);
+
             HashMap<K, ViewHolder> removedHolderMap = new HashMap<>();
 
             while (keyIterator.hasNext()) {
                 K key = keyIterator.next();
                 if (key == null) continue;
 
-                boolean inKeyList = keySet == keys || keys.contains(key);
+                boolean inKeyList = keySet == keys || keyLookup.contains(key);
                 if ((inKeyList && !retain) || (!inKeyList && retain)) {
                     ViewHolder holder = holderMap.get(key);
 
@@ -233,142 +848,466 @@ public abstract class ViewsHolder<K> implements Iterable<Map.Entry<K, ViewHolder
                 }
             }
 
-            if (destroy) {
-                for (Map.Entry<K, ViewHolder> holderEntry : removedHolderMap.entrySet()) {
-                    if (holderEntry == null) continue;
+            if (destroy)
+                destroyViewHolders(removedHolderMap);
+
+            return removedHolderMap;
+        }
+    }
+
+    private void destroyViewHolders(Map<K, ViewHolder> removedHolderMap) {
+        synchronized (transactionLock) {
+            if (transactionDepth > 0) {
+                for (Map.Entry<K, ViewHolder> holderEntry : removedHolderMap.entrySet()) {
+                    if (holderEntry == null || holderEntry.getValue() == null) continue;
+
+                    pendingAttaches.remove(holderEntry.getKey());
+                    pendingDestroys.add(new AbstractMap.SimpleImmutableEntry<>(holderEntry.getKey(), holderEntry.getValue()));
+                }
+                return;
+            }
+        }
+
+        for (Map.Entry<K, ViewHolder> holderEntry : removedHolderMap.entrySet()) {
+            if (holderEntry == null) continue;
 
-                    K key = holderEntry.getKey();
-                    ViewHolder holder = holderEntry.getValue();
-                    if (holder == null) continue;
+            performDestroy(holderEntry.getKey(), holderEntry.getValue());
+        }
+    }
 
-                    try {
-                        destroyViewHolder(key, holder);
-                    } catch (Exception e) {
-                        e.printStackTrace();
-                    }
+    private boolean performDestroy(K key, ViewHolder holder) {
+        if (holder == null) return false;
 
-                    try {
-                        holder.destroy();
-                    } catch (Exception e) {
-                        e.printStackTrace();
-                    }
-                }
-            }
+        try {
+            destroyViewHolder(key, holder);
+        } catch (Exception e) {
+            handleError(HolderErrorPolicy.OPERATION_DESTROY, e);
+        }
 
-            return removedHolderMap;
+        try {
+            holder.destroy();
+            return true;
+        } catch (Exception e) {
+            handleError(HolderErrorPolicy.OPERATION_DESTROY, e);
+        }
+        return false;
+    }
+
+    public final boolean hasViewHolder(K key) {
+        if (key == null) return false;
+
+        if (concurrent)
+            return holderMap.containsKey(key);
+
+        synchronized (holderMap) {
+            return holderMap.containsKey(key);
         }
     }
 
     public final ViewHolder getViewHolder(K key) {
         if (key == null) return null;
+        if (positional && (Integer) key < 0) return null;
 
         ViewHolder holder = null;
         try {
-            synchronized (holderMap) {
-                if (!holderMap.containsKey(key)) {
-                    holder = createViewHolder(key, context, parentView);
-                    holderMap.put(key, holder);
-                } else {
-                    holder = holderMap.get(key);
+            if (concurrent) {
+                holder = holderMap.get(key);
+                if (holder == null) {
+                    ViewHolder newHolder = createViewHolder(key, context, parentView);
+                    if (newHolder != null) {
+                        newHolder.setRecycledViewPool(viewPool, getViewType(key));
+                        newHolder.setMetrics(metrics);
+                        newHolder.setErrorPolicy(errorPolicy);
+
+                        holder = ((ConcurrentMap<K, ViewHolder>) holderMap).putIfAbsent(key, newHolder);
+                        if (holder == null) holder = newHolder;
+                    }
+                }
+            } else {
+                synchronized (holderMap) {
+                    if (!holderMap.containsKey(key)) {
+                        holder = createViewHolder(key, context, parentView);
+                        if (holder != null) {
+                            holder.setRecycledViewPool(viewPool, getViewType(key));
+                            holder.setMetrics(metrics);
+                            holder.setErrorPolicy(errorPolicy);
+                        }
+                        holderMap.put(key, holder);
+                    } else {
+                        holder = holderMap.get(key);
+                    }
                 }
             }
         } catch (Exception e) {
-            e.printStackTrace();
+            handleError(HolderErrorPolicy.OPERATION_GENERAL, e);
         }
 
-        try {
-            if (holder != null)
-                holder.setParentView(parentView);
-        } catch (Exception e) {
-            e.printStackTrace();
+        prepareViewHolder(holder);
+        return holder;
+    }
+
+    /**
+     * Returns the view holder at the given position of a positional holder, creating it if
+     * needed. Unlike {@link #getViewHolder(Object)} an existing holder is found without boxing
+     * the position.
+     */
+    @SuppressWarnings("unchecked")
+    public final ViewHolder getViewHolderAt(int position) {
+        if (position < 0) return null;
+
+        ViewHolder holder;
+        synchronized (holderMap) {
+            holder = getPositionMap().getAt(position);
         }
+        if (holder == null)
+            return getViewHolder((K) Integer.valueOf(position));
+
+        prepareViewHolder(holder);
         return holder;
     }
 
-    public final View getContentView(K key) {
-        ViewHolder holder = getViewHolder(key);
+    public final boolean hasViewHolderAt(int position) {
+        return peekViewHolderAt(position) != null;
+    }
+
+    private void prepareViewHolder(ViewHolder holder) {
         try {
-            if (holder != null)
-                return holder.getContentView();
+            if (holder != null) {
+                holder.setParentView(parentView);
+                holder.markAccessed(accessClock.incrementAndGet());
+
+                if (holder.isTrimmed())
+                    performCreate(holder, false);
+            }
         } catch (Exception e) {
-            e.printStackTrace();
+            handleError(HolderErrorPolicy.OPERATION_GENERAL, e);
         }
-        return null;
+    }
+
+    public final View getContentView(K key) {
+        return getAttachedView(getViewHolder(key));
+    }
+
+    public final View getContentViewAt(int position) {
+        return getAttachedView(getViewHolderAt(position));
     }
 
     public final boolean detach(K key) {
+        if (isInTransaction()) return queueDetach(key);
+
         ViewHolder holder = getViewHolder(key);
         try {
             if (holder != null)
                 return holder.detach();
         } catch (Exception e) {
-            e.printStackTrace();
+            handleError(HolderErrorPolicy.OPERATION_GENERAL, e);
         }
         return false;
     }
 
     public final boolean attach(K key) {
+        if (isInTransaction()) return queueAttach(key, new PendingAttach(-1, 0, 0, false, null));
+
         ViewHolder holder = getViewHolder(key);
         try {
             if (holder != null)
                 return holder.attach();
         } catch (Exception e) {
-            e.printStackTrace();
+            handleError(HolderErrorPolicy.OPERATION_GENERAL, e);
         }
         return false;
     }
 
     public final boolean attach(K key, int index) {
+        if (isInTransaction()) return queueAttach(key, new PendingAttach(index, 0, 0, false, null));
+
         ViewHolder holder = getViewHolder(key);
         try {
             if (holder != null)
                 return holder.attach(index);
         } catch (Exception e) {
-            e.printStackTrace();
+            handleError(HolderErrorPolicy.OPERATION_GENERAL, e);
         }
         return false;
     }
 
     public final boolean attach(K key, int width, int height) {
+        if (isInTransaction()) return queueAttach(key, new PendingAttach(-1, width, height, true, null));
+
         ViewHolder holder = getViewHolder(key);
         try {
             if (holder != null)
                 return holder.attach(width, height);
         } catch (Exception e) {
-            e.printStackTrace();
+            handleError(HolderErrorPolicy.OPERATION_GENERAL, e);
         }
         return false;
     }
 
     public final boolean attach(K key, ViewGroup.LayoutParams params) {
+        if (isInTransaction()) return queueAttach(key, new PendingAttach(-1, 0, 0, false, params));
+
         ViewHolder holder = getViewHolder(key);
         try {
             if (holder != null)
                 return holder.attach(params);
         } catch (Exception e) {
-            e.printStackTrace();
+            handleError(HolderErrorPolicy.OPERATION_GENERAL, e);
         }
         return false;
     }
 
     public final boolean attach(K key, int index, ViewGroup.LayoutParams params) {
+        if (isInTransaction()) return queueAttach(key, new PendingAttach(index, 0, 0, false, params));
+
         ViewHolder holder = getViewHolder(key);
         try {
             if (holder != null)
                 return holder.attach(index, params);
         } catch (Exception e) {
-            e.printStackTrace();
+            handleError(HolderErrorPolicy.OPERATION_GENERAL, e);
+        }
+        return false;
+    }
+
+    public final boolean isInTransaction() {
+        synchronized (transactionLock) {
+            return transactionDepth > 0;
+        }
+    }
+
+    public final void beginTransaction() {
+        synchronized (transactionLock) {
+            if (transactionDepth++ == 0) {
+                pendingAttaches = new LinkedHashMap<>();
+                pendingDestroys = new ArrayList<>();
+            }
+        }
+    }
+
+    public final boolean commit() {
+        LinkedHashMap<K, PendingAttach> attaches;
+        ArrayList<Map.Entry<K, ViewHolder>> destroys;
+        synchronized (transactionLock) {
+            if (transactionDepth <= 0) return false;
+            if (--transactionDepth > 0) return true;
+
+            attaches = pendingAttaches;
+            destroys = pendingDestroys;
+            pendingAttaches = null;
+            pendingDestroys = null;
+        }
+
+        ViewGroup parentView = this.parentView;
+        if (parentView == null) {
+            destroyPending(destroys);
+            return false;
+        }
+
+        ArrayList<View> removedViews = new ArrayList<>();
+        ArrayList<Map.Entry<K, PendingAttach>> attachEntries = new ArrayList<>();
+        for (Map.Entry<K, PendingAttach> attachEntry : attaches.entrySet()) {
+            if (attachEntry.getValue() != null) {
+                attachEntries.add(attachEntry);
+                continue;
+            }
+
+            View view = getAttachedView(peekViewHolder(attachEntry.getKey()));
+            if (view != null && view.getParent() == parentView)
+                removedViews.add(view);
+        }
+        for (Map.Entry<K, ViewHolder> holderEntry : destroys) {
+            View view = getAttachedView(holderEntry.getValue());
+            if (view != null && view.getParent() == parentView)
+                removedViews.add(view);
+        }
+
+        boolean changed = removeViews(parentView, removedViews);
+        destroyPending(destroys);
+        changed |= attachViews(parentView, attachEntries);
+
+        if (changed) {
+            parentView.requestLayout();
+            parentView.invalidate();
+        }
+        return true;
+    }
+
+    private boolean queueDetach(K key) {
+        if (key == null) return false;
+
+        ViewHolder holder = peekViewHolder(key);
+        if (getAttachedView(holder) == null) return false;
+        if (queueTransaction(key, null)) return true;
+
+        try {
+            return holder.detach();
+        } catch (Exception e) {
+            handleError(HolderErrorPolicy.OPERATION_GENERAL, e);
+        }
+        return false;
+    }
+
+    private boolean queueAttach(K key, PendingAttach attach) {
+        if (key == null) return false;
+
+        ViewHolder holder = getViewHolder(key);
+        if (getAttachedView(holder) == null) return false;
+
+        attach.holder = holder;
+        if (queueTransaction(key, attach)) return true;
+
+        // The transaction was committed in the meantime
+        try {
+            if (attach.params != null)
+                return attach.index >= 0 ? holder.attach(attach.index, attach.params) : holder.attach(attach.params);
+            if (attach.sized)
+                return holder.attach(attach.width, attach.height);
+            return attach.index >= 0 ? holder.attach(attach.index) : holder.attach();
+        } catch (Exception e) {
+            handleError(HolderErrorPolicy.OPERATION_GENERAL, e);
         }
         return false;
     }
 
+    private boolean queueTransaction(K key, PendingAttach attach) {
+        synchronized (transactionLock) {
+            if (transactionDepth <= 0) return false;
+
+            pendingAttaches.remove(key);
+            pendingAttaches.put(key, attach);
+            return true;
+        }
+    }
+
+    private ViewHolder peekViewHolder(K key) {
+        if (concurrent)
+            return holderMap.get(key);
+
+        synchronized (holderMap) {
+            return holderMap.get(key);
+        }
+    }
+
+    private ViewHolder peekViewHolderAt(int position) {
+        synchronized (holderMap) {
+            return getPositionMap().getAt(position);
+        }
+    }
+
+    private View getAttachedView(ViewHolder holder) {
+        try {
+            if (holder != null)
+                return holder.getContentView();
+        } catch (Exception e) {
+            handleError(HolderErrorPolicy.OPERATION_GENERAL, e);
+        }
+        return null;
+    }
+
+    private boolean removeViews(ViewGroup parentView, List<View> views) {
+        if (views.isEmpty()) return false;
+
+        int[] indices = new int[views.size()];
+        int count = 0;
+        for (View view : views) {
+            int index = parentView.indexOfChild(view);
+            if (index >= 0) indices[count++] = index;
+        }
+        if (count == 0) return false;
+
+        Arrays.sort(indices, 0, count);
+
+        BatchParent batchParent = parentView instanceof BatchParent ? (BatchParent) parentView : null;
+
+        int end = count - 1;
+        while (end >= 0) {
+            int start = end;
+            while (start > 0 && (indices[start - 1] == indices[start] - 1 || indices[start - 1] == indices[start]))
+                start--;
+
+            try {
+                if (batchParent != null)
+                    batchParent.removeViewsInBatch(indices[start], indices[end] - indices[start] + 1);
+                else
+                    parentView.removeViews(indices[start], indices[end] - indices[start] + 1);
+            } catch (Exception e) {
+                handleError(HolderErrorPolicy.OPERATION_GENERAL, e);
+            }
+            end = start - 1;
+        }
+        return true;
+    }
+
+    private void destroyPending(List<Map.Entry<K, ViewHolder>> destroys) {
+        if (destroys.isEmpty()) return;
+
+        for (Map.Entry<K, ViewHolder> holderEntry : destroys)
+            performDestroy(holderEntry.getKey(), holderEntry.getValue());
+    }
+
+    @SuppressWarnings("unchecked")
+    private boolean attachViews(ViewGroup parentView, List<Map.Entry<K, PendingAttach>> attachEntries) {
+        if (attachEntries.isEmpty()) return false;
+
+        boolean comparable = true;
+        for (Map.Entry<K, PendingAttach> attachEntry : attachEntries) {
+            if (!(attachEntry.getKey() instanceof Comparable)) {
+                comparable = false;
+                break;
+            }
+        }
+        if (comparable) {
+            Collections.sort(attachEntries, new Comparator<Map.Entry<K, PendingAttach>>() {
+                @Override
+                public int compare(Map.Entry<K, PendingAttach> first, Map.Entry<K, PendingAttach> second) {
+                    return ((Comparable<Object>) first.getKey()).compareTo(second.getKey());
+                }
+            });
+        }
+
+        BatchParent batchParent = parentView instanceof BatchParent ? (BatchParent) parentView : null;
+
+        boolean changed = false;
+        for (Map.Entry<K, PendingAttach> attachEntry : attachEntries) {
+            ViewHolder holder = attachEntry.getValue().holder;
+            View view = getAttachedView(holder);
+            if (view == null || view.getParent() == parentView) continue;
+
+            PendingAttach attach = attachEntry.getValue();
+            try {
+                holder.setParentView(parentView);
+
+                int index = attach.index >= 0 ? Math.min(attach.index, parentView.getChildCount()) : -1;
+                if (batchParent != null) {
+                    ViewGroup.LayoutParams params = attach.params;
+                    if (params == null && attach.sized)
+                        params = new ViewGroup.LayoutParams(attach.width, attach.height);
+                    changed |= batchParent.addViewInBatch(view, index, params);
+                    continue;
+                }
+
+                if (attach.params != null)
+                    parentView.addView(view, index, attach.params);
+                else if (attach.sized)
+                    parentView.addView(view, attach.width, attach.height);
+                else
+                    parentView.addView(view, index);
+                changed = true;
+            } catch (Exception e) {
+                handleError(HolderErrorPolicy.OPERATION_GENERAL, e);
+            }
+        }
+        return changed;
+    }
+
     public final <T extends View> T findViewById(K key, @IdRes int id) {
         ViewHolder holder = getViewHolder(key);
         try {
             if (holder != null)
                 return holder.findViewById(id);
         } catch (Exception e) {
-            e.printStackTrace();
+            handleError(HolderErrorPolicy.OPERATION_GENERAL, e);
         }
         return null;
     }
@@ -389,38 +1328,50 @@ public abstract class ViewsHolder<K> implements Iterable<Map.Entry<K, ViewHolder
             else
                 return inflater.inflate(id, null);
         } catch (Exception e) {
-            e.printStackTrace();
+            handleError(HolderErrorPolicy.OPERATION_CREATE, e);
         }
         return null;
     }
 
     public final boolean recreateAll() {
-        boolean recreated = true;
-        synchronized (holderMap) {
-            try {
-                for (Map.Entry<K, ViewHolder> holderEntry : holderMap.entrySet()) {
-                    if (holderEntry == null) continue;
+        if (positional) {
+            boolean recreated = true;
+            for (int key = 0, keyLimit = getKeyLimit(); key < keyLimit; key++) {
+                ViewHolder holder = peekViewHolderAt(key);
+                if (holder != null)
+                    recreated &= performRecreate(holder);
+            }
+            return recreated;
+        }
 
-                    K key = holderEntry.getKey();
-                    if (key == null) continue;
+        boolean recreated = true;
+        try {
+            for (Map.Entry<K, ViewHolder> holderEntry : snapshotEntries()) {
+                K key = holderEntry.getKey();
+                ViewHolder holder = holderEntry.getValue();
+                if (key == null || holder == null) continue;
 
-                    recreated &= recreate(key);
-                }
-            } catch (Exception e) {
-                recreated = false;
-                e.printStackTrace();
+                recreated &= performRecreate(holder);
             }
+        } catch (Exception e) {
+            recreated = false;
+            handleError(HolderErrorPolicy.OPERATION_CREATE, e);
         }
         return recreated;
     }
 
     public final boolean recreate(K key) {
-        ViewHolder holder = getViewHolder(key);
+        return performRecreate(getViewHolder(key));
+    }
+
+    private boolean performRecreate(ViewHolder holder) {
         try {
-            if (holder != null)
+            if (holder != null) {
+                holder.setParentView(parentView);
                 return holder.recreate();
+            }
         } catch (Exception e) {
-            e.printStackTrace();
+            handleError(HolderErrorPolicy.OPERATION_CREATE, e);
         }
         return false;
     }
@@ -430,21 +1381,28 @@ public abstract class ViewsHolder<K> implements Iterable<Map.Entry<K, ViewHolder
     }
 
     public final boolean createAll(boolean rebind) {
-        boolean created = true;
-        synchronized (holderMap) {
-            try {
-                for (Map.Entry<K, ViewHolder> holderEntry : holderMap.entrySet()) {
-                    if (holderEntry == null) continue;
+        if (positional) {
+            boolean created = true;
+            for (int key = 0, keyLimit = getKeyLimit(); key < keyLimit; key++) {
+                ViewHolder holder = peekViewHolderAt(key);
+                if (holder != null)
+                    created &= performCreate(holder, rebind);
+            }
+            return created;
+        }
 
-                    K key = holderEntry.getKey();
-                    if (key == null) continue;
+        boolean created = true;
+        try {
+            for (Map.Entry<K, ViewHolder> holderEntry : snapshotEntries()) {
+                K key = holderEntry.getKey();
+                ViewHolder holder = holderEntry.getValue();
+                if (key == null || holder == null) continue;
 
-                    created &= create(key, rebind);
-                }
-            } catch (Exception e) {
-                created = false;
-                e.printStackTrace();
+                created &= performCreate(holder, rebind);
             }
+        } catch (Exception e) {
+            created = false;
+            handleError(HolderErrorPolicy.OPERATION_CREATE, e);
         }
         return created;
     }
@@ -454,28 +1412,72 @@ public abstract class ViewsHolder<K> implements Iterable<Map.Entry<K, ViewHolder
     }
 
     public final boolean create(K key, boolean rebind) {
-        ViewHolder holder = getViewHolder(key);
+        return performCreate(getViewHolder(key), rebind);
+    }
+
+    public final boolean createAt(int position, boolean rebind) {
+        return performCreate(getViewHolderAt(position), rebind);
+    }
+
+    public final boolean bind(K key, Object payload) {
+        return bind(key, payload != null ? Collections.singletonList(payload) : Collections.emptyList());
+    }
+
+    public final boolean bind(K key, List<Object> payloads) {
+        if (key == null) return false;
+
+        ViewHolder holder = peekViewHolder(key);
+
         try {
             if (holder != null)
-                return holder.create(rebind);
+                return holder.bind(payloads);
         } catch (Exception e) {
-            e.printStackTrace();
+            handleError(HolderErrorPolicy.OPERATION_BIND, e);
         }
         return false;
     }
 
-    protected ViewHolder createViewHolder(final K key, final Context context, final ViewGroup parentView) {
-        ViewHolder holder = new ViewHolder(context) {
-            @Override
-            public View createHolder(ViewGroup parentView) {
-                return ViewsHolder.this.createHolder(key, ViewsHolder.this.parentView);
+    public final void createAsync(K key, ViewHolder.OnCreateListener listener) {
+        createAsync(key, false, listener);
+    }
+
+    public final void createAsync(K key, boolean rebind, ViewHolder.OnCreateListener listener) {
+        ViewHolder holder = getViewHolder(key);
+        try {
+            if (holder != null) {
+                holder.createAsync(rebind, listener);
+                return;
             }
+        } catch (Exception e) {
+            handleError(HolderErrorPolicy.OPERATION_CREATE, e);
+        }
+
+        try {
+            if (listener != null)
+                listener.onCreated(null, false);
+        } catch (Exception e) {
+            handleError(HolderErrorPolicy.OPERATION_CALLBACK, e);
+        }
+    }
 
-            @Override
-            public void bindHolder(View contentView) {
-                ViewsHolder.this.bindHolder(key, contentView);
+    private boolean performCreate(ViewHolder holder, boolean rebind) {
+        try {
+            if (holder != null) {
+                holder.setParentView(parentView);
+                return holder.create(rebind);
             }
-        };
+        } catch (Exception e) {
+            handleError(HolderErrorPolicy.OPERATION_CREATE, e);
+        }
+        return false;
+    }
+
+    protected final void handleError(int operation, Exception e) {
+        HolderErrorPolicy.handle(errorPolicy, this, operation, e);
+    }
+
+    protected ViewHolder createViewHolder(final K key, final Context context, final ViewGroup parentView) {
+        ViewHolder holder = new KeyedViewHolder(key, context);
         holder.setParentView(parentView);
         return holder;
     }
@@ -483,10 +1485,122 @@ public abstract class ViewsHolder<K> implements Iterable<Map.Entry<K, ViewHolder
     protected void destroyViewHolder(K key, ViewHolder viewHolder) {
     }
 
+    protected int getViewType(K key) {
+        return 0;
+    }
+
     protected abstract View createHolder(K key, ViewGroup parentView);
 
     protected abstract void bindHolder(K key, View contentView);
 
+    protected void bindHolder(K key, View contentView, List<Object> payloads) {
+        bindHolder(key, contentView);
+    }
+
+    protected void onViewHolderBound(K key, View contentView) {
+    }
+
+    private final class KeyedViewHolder extends ViewHolder {
+        private volatile K key;
+
+        private KeyedViewHolder(K key, Context context) {
+            super(context);
+
+            this.key = key;
+        }
+
+        @Override
+        public View createHolder(ViewGroup parentView) {
+            return ViewsHolder.this.createHolder(key, ViewsHolder.this.parentView);
+        }
+
+        @Override
+        public void bindHolder(View contentView) {
+            K key = this.key;
+            ViewsHolder.this.bindHolder(key, contentView);
+            ViewsHolder.this.onViewHolderBound(key, contentView);
+        }
+
+        @Override
+        protected void bindHolder(View contentView, List<Object> payloads) {
+            K key = this.key;
+            ViewsHolder.this.bindHolder(key, contentView, payloads);
+            ViewsHolder.this.onViewHolderBound(key, contentView);
+        }
+    }
+
+    /**
+     * A parent view that lets a transaction add and remove its children without a layout request
+     * for each of them. {@link #commit()} requests a single layout for the whole transaction.
+     */
+    public interface BatchParent {
+        /**
+         * Adds the child like {@link ViewGroup#addView(View, int, ViewGroup.LayoutParams)} without
+         * requesting a layout. The params may be null, or need to be converted for this parent.
+         */
+        boolean addViewInBatch(View child, int index, ViewGroup.LayoutParams params);
+
+        /**
+         * Removes the children like {@link ViewGroup#removeViews(int, int)} without requesting a
+         * layout.
+         */
+        void removeViewsInBatch(int start, int count);
+    }
+
+    private static class TrimCallbacks implements ComponentCallbacks2 {
+        private final WeakReference<ViewsHolder<?>> holderReference;
+        private final Context context;
+
+        private TrimCallbacks(ViewsHolder<?> viewsHolder, Context context) {
+            this.holderReference = new WeakReference<ViewsHolder<?>>(viewsHolder);
+            this.context = context;
+        }
+
+        private ViewsHolder<?> getViewsHolder() {
+            ViewsHolder<?> viewsHolder = holderReference.get();
+            if (viewsHolder == null) {
+                try {
+                    context.unregisterComponentCallbacks(this);
+                } catch (Exception e) {
+                }
+            }
+            return viewsHolder;
+        }
+
+        @Override
+        public void onTrimMemory(int level) {
+            ViewsHolder<?> viewsHolder = getViewsHolder();
+            if (viewsHolder != null)
+                viewsHolder.trimMemory(level);
+        }
+
+        @Override
+        public void onLowMemory() {
+            onTrimMemory(TRIM_MEMORY_COMPLETE);
+        }
+
+        @Override
+        public void onConfigurationChanged(Configuration newConfig) {
+        }
+    }
+
+    private static class PendingAttach {
+        private final int index;
+        private final int width;
+        private final int height;
+        private final boolean sized;
+        private final ViewGroup.LayoutParams params;
+        private ViewHolder holder;
+
+        private PendingAttach(int index, int width, int height, boolean sized, ViewGroup.LayoutParams params) {
+            this.index = index;
+            this.width = width;
+            this.height = height;
+            this.sized = sized;
+            this.params = params;
+        }
+    }
+
     private static class IteratorWrapper<E> implements Iterator<E> {
         private Iterator<E> iterator;
 
@@ -0,0 +1,89 @@
+package com.prodev.views.tabs;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class ColorTransitionTest {
+    private static final int FROM = 0x80FF2040;
+    private static final int TO = 0xFF10E0A0;
+
+    @Test
+    public void getStep_clampsToTheTable() {
+        ColorTransition transition = new ColorTransition(64, false);
+
+        assertEquals(0, transition.getStep(-1f));
+        assertEquals(0, transition.getStep(0f));
+        assertEquals(32, transition.getStep(.5f));
+        assertEquals(64, transition.getStep(1f));
+        assertEquals(64, transition.getStep(2f));
+    }
+
+    @Test
+    public void blend_returnsTheEndpoints() {
+        for (boolean linearLight : new boolean[]{false, true}) {
+            ColorTransition transition = new ColorTransition(64, linearLight);
+
+            assertEquals(FROM, transition.blend(FROM, TO, 0));
+            assertEquals(TO, transition.blend(FROM, TO, 64));
+        }
+    }
+
+    @Test
+    public void fillGradient_startsAndEndsAtTheColors() {
+        ColorTransition transition = new ColorTransition(16, true);
+        int[] gradient = new int[20];
+        transition.fillGradient(FROM, TO, gradient, 2);
+
+        assertEquals(0, gradient[1]);
+        assertEquals(FROM, gradient[2]);
+        assertEquals(TO, gradient[18]);
+        assertEquals(0, gradient[19]);
+    }
+
+    @Test
+    public void blend_interpolatesAlphaLinearly() {
+        for (boolean linearLight : new boolean[]{false, true}) {
+            ColorTransition transition = new ColorTransition(64, linearLight);
+
+            assertEquals(0xC0, transition.blend(0x80000000, 0xFF000000, 32) >>> 24);
+            assertEquals(0x80, transition.blend(0x80000000, 0x80FFFFFF, 32) >>> 24);
+            assertEquals(0x00, transition.blend(0x00FFFFFF, 0x00000000, 17) >>> 24);
+        }
+    }
+
+    @Test
+    public void blend_isMonotonic() {
+        ColorTransition transition = new ColorTransition(64, true);
+
+        int previous = -1;
+        for (int step = 0; step <= 64; step++) {
+            int green = (transition.blend(0xFF000000, 0xFF00FF00, step) >> 8) & 0xff;
+            assertTrue(green >= previous);
+            previous = green;
+        }
+    }
+
+    @Test
+    public void linearLight_roundTripsEveryChannelValue() {
+        ColorTransition transition = new ColorTransition(64, true);
+
+        for (int value = 0; value < 256; value++) {
+            // Only the blue channel differs, red goes through the tables unchanged
+            int from = 0xFF000000 | (value << 16);
+            int to = from | 0xff;
+            for (int step = 1; step < 64; step++) {
+                assertEquals(value, (transition.blend(from, to, step) >> 16) & 0xff);
+            }
+        }
+    }
+
+    @Test
+    public void linearLight_midpointIsBrighterThanSrgb() {
+        int srgb = new ColorTransition(64, false).blend(0xFF000000, 0xFFFFFFFF, 32) & 0xff;
+        int linear = new ColorTransition(64, true).blend(0xFF000000, 0xFFFFFFFF, 32) & 0xff;
+
+        assertEquals(128, srgb);
+        assertEquals(188, linear, 1);
+    }
+}
@@ -0,0 +1,129 @@
+package com.prodev.views.tabs;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class SmartTabIndicationInterpolatorTest {
+    private static final float EPSILON = 1e-4f;
+    private static final float TABLE_TOLERANCE = 2e-3f;
+    private static final int SAMPLES = 1000;
+
+    private static final SmartTabIndicationInterpolator[] CURVES = {
+            SmartTabIndicationInterpolator.LINEAR,
+            new SmartTabIndicationInterpolator.SpringIndicationInterpolator(),
+            new SmartTabIndicationInterpolator.SpringIndicationInterpolator(4f, 12f),
+            new SmartTabIndicationInterpolator.CubicBezierIndicationInterpolator(),
+            new SmartTabIndicationInterpolator.CubicBezierIndicationInterpolator(0.42f, 0f, 0.58f, 1f)
+    };
+
+    @Test
+    public void of_returnsThePublicInstances() {
+        assertSame(SmartTabIndicationInterpolator.SMART, SmartTabIndicationInterpolator.of(SmartTabIndicationInterpolator.ID_SMART));
+        assertSame(SmartTabIndicationInterpolator.LINEAR, SmartTabIndicationInterpolator.of(SmartTabIndicationInterpolator.ID_LINEAR));
+        assertSame(SmartTabIndicationInterpolator.SPRING, SmartTabIndicationInterpolator.of(SmartTabIndicationInterpolator.ID_SPRING));
+        assertSame(SmartTabIndicationInterpolator.CUBIC_BEZIER, SmartTabIndicationInterpolator.of(SmartTabIndicationInterpolator.ID_CUBIC_BEZIER));
+    }
+
+    @Test
+    public void compiled_isSharedPerId() {
+        SmartTabIndicationInterpolator compiled = SmartTabIndicationInterpolator.compiled(SmartTabIndicationInterpolator.ID_SPRING);
+
+        assertTrue(compiled instanceof SmartTabIndicationInterpolator.CompiledIndicationInterpolator);
+        assertSame(compiled, SmartTabIndicationInterpolator.compiled(SmartTabIndicationInterpolator.ID_SPRING));
+        assertSame(SmartTabIndicationInterpolator.LINEAR, SmartTabIndicationInterpolator.compiled(SmartTabIndicationInterpolator.ID_LINEAR));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void of_rejectsUnknownIds() {
+        SmartTabIndicationInterpolator.of(-1);
+    }
+
+    @Test
+    public void compile_keepsTablesOfTheSameResolution() {
+        SmartTabIndicationInterpolator compiled = SmartTabIndicationInterpolator.compile(SmartTabIndicationInterpolator.SPRING, 64);
+
+        assertSame(compiled, SmartTabIndicationInterpolator.compile(compiled, 64));
+        assertNotSame(compiled, SmartTabIndicationInterpolator.compile(compiled, 32));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void compile_rejectsEmptyTables() {
+        SmartTabIndicationInterpolator.compile(SmartTabIndicationInterpolator.SPRING, 0);
+    }
+
+    @Test
+    public void edges_startAtZeroAndEndAtOne() {
+        for (SmartTabIndicationInterpolator curve : CURVES) {
+            assertEdges(curve);
+            assertEdges(SmartTabIndicationInterpolator.compile(curve));
+        }
+    }
+
+    @Test
+    public void compiled_matchesTheSourceCurves() {
+        for (SmartTabIndicationInterpolator curve : CURVES) {
+            SmartTabIndicationInterpolator compiled = SmartTabIndicationInterpolator.compile(curve);
+
+            for (int i = 0; i <= SAMPLES; i++) {
+                float offset = (float) i / SAMPLES;
+                assertEquals(curve.getLeftEdge(offset), compiled.getLeftEdge(offset), TABLE_TOLERANCE);
+                assertEquals(curve.getRightEdge(offset), compiled.getRightEdge(offset), TABLE_TOLERANCE);
+                assertEquals(curve.getThickness(offset), compiled.getThickness(offset), TABLE_TOLERANCE);
+            }
+        }
+    }
+
+    @Test
+    public void compiled_clampsOffsetsOutsideTheTable() {
+        SmartTabIndicationInterpolator compiled = SmartTabIndicationInterpolator.compile(SmartTabIndicationInterpolator.SPRING);
+
+        assertEquals(compiled.getRightEdge(0f), compiled.getRightEdge(-.5f), 0f);
+        assertEquals(compiled.getRightEdge(1f), compiled.getRightEdge(1.5f), 0f);
+    }
+
+    @Test
+    public void spring_overshootsTheLeadingEdge() {
+        SmartTabIndicationInterpolator spring = new SmartTabIndicationInterpolator.SpringIndicationInterpolator();
+
+        float max = 0f;
+        for (int i = 0; i <= SAMPLES; i++) {
+            float offset = (float) i / SAMPLES;
+            max = Math.max(max, spring.getRightEdge(offset));
+            assertTrue(spring.getLeftEdge(offset) >= 0f && spring.getLeftEdge(offset) <= 1f);
+        }
+        assertTrue(max > 1f);
+    }
+
+    @Test
+    public void cubicBezier_isMonotonic() {
+        SmartTabIndicationInterpolator cubicBezier = new SmartTabIndicationInterpolator.CubicBezierIndicationInterpolator();
+
+        float previous = 0f;
+        for (int i = 0; i <= SAMPLES; i++) {
+            float value = cubicBezier.getRightEdge((float) i / SAMPLES);
+            assertTrue(value >= previous - EPSILON);
+            previous = value;
+        }
+    }
+
+    @Test
+    public void cubicBezier_matchesTheControlPoints() {
+        // With control points on the diagonal the curve is the identity
+        SmartTabIndicationInterpolator cubicBezier =
+                new SmartTabIndicationInterpolator.CubicBezierIndicationInterpolator(1f / 3f, 1f / 3f, 2f / 3f, 2f / 3f);
+
+        for (int i = 0; i <= SAMPLES; i++) {
+            float offset = (float) i / SAMPLES;
+            assertEquals(offset, cubicBezier.getRightEdge(offset), EPSILON);
+            assertEquals(offset, cubicBezier.getLeftEdge(offset), EPSILON);
+        }
+    }
+
+    private static void assertEdges(SmartTabIndicationInterpolator interpolator) {
+        assertEquals(0f, interpolator.getLeftEdge(0f), EPSILON);
+        assertEquals(0f, interpolator.getRightEdge(0f), EPSILON);
+        assertEquals(1f, interpolator.getLeftEdge(1f), EPSILON);
+        assertEquals(1f, interpolator.getRightEdge(1f), EPSILON);
+    }
+}
@@ -0,0 +1,59 @@
+package com.prodev.views.tabs;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class TabPositionMapTest {
+    private static int[] map(long[] oldTabIds, long[] tabIds) {
+        return SmartTabLayout.mapTabPositions(oldTabIds.length, oldTabIds, tabIds.length, tabIds);
+    }
+
+    @Test
+    public void unchanged() {
+        assertArrayEquals(new int[]{0, 1, 2}, map(new long[]{10, 11, 12}, new long[]{10, 11, 12}));
+    }
+
+    @Test
+    public void swap() {
+        assertArrayEquals(new int[]{1, 0}, map(new long[]{10, 11}, new long[]{11, 10}));
+    }
+
+    @Test
+    public void move() {
+        assertArrayEquals(new int[]{2, 0, 1, 3}, map(new long[]{10, 11, 12, 13}, new long[]{11, 12, 10, 13}));
+    }
+
+    @Test
+    public void insert() {
+        assertArrayEquals(new int[]{0, 2, 3}, map(new long[]{10, 11, 12}, new long[]{10, 20, 11, 12}));
+    }
+
+    @Test
+    public void remove() {
+        assertArrayEquals(new int[]{0, -1, 1}, map(new long[]{10, 11, 12}, new long[]{10, 12}));
+    }
+
+    @Test
+    public void insertRemoveAndMove() {
+        assertArrayEquals(new int[]{-1, 2, 0}, map(new long[]{10, 11, 12}, new long[]{12, 20, 11}));
+    }
+
+    @Test
+    public void duplicateIdsFallBackToPositions() {
+        assertArrayEquals(new int[]{0, 1, -1}, map(new long[]{10, 11, 12}, new long[]{12, 12}));
+    }
+
+    @Test
+    public void withoutIdsTabsKeepTheirPositions() {
+        assertArrayEquals(new int[]{0, 1, -1}, SmartTabLayout.mapTabPositions(3, null, 2, null));
+        assertArrayEquals(new int[]{0, 1}, SmartTabLayout.mapTabPositions(2, null, 4, null));
+    }
+
+    @Test
+    public void everyNewPositionKeepsAtMostOneTab() {
+        int[] keyMap = map(new long[]{10, 10, 11}, new long[]{11, 10});
+
+        assertArrayEquals(new int[]{1, -1, 0}, keyMap);
+    }
+}
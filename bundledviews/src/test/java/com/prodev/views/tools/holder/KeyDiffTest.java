@@ -0,0 +1,171 @@
+package com.prodev.views.tools.holder;
+
+import android.content.ContextWrapper;
+import android.view.View;
+import android.view.ViewGroup;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class KeyDiffTest {
+    private static ViewsHolder<String> createHolder() {
+        return new ViewsHolder<String>(new ContextWrapper(null)) {
+            @Override
+            protected View createHolder(String key, ViewGroup parentView) {
+                return null;
+            }
+
+            @Override
+            protected void bindHolder(String key, View contentView) {
+            }
+        };
+    }
+
+    private static List<String> keysOf(ViewsHolder<String> viewsHolder) {
+        ArrayList<String> keys = new ArrayList<>();
+        Iterator<String> keyIterator = viewsHolder.keyIterator();
+        while (keyIterator.hasNext())
+            keys.add(keyIterator.next());
+        Collections.sort(keys);
+        return keys;
+    }
+
+    @Test
+    public void setKeys_initialKeysAreAdded() {
+        ViewsHolder<String> viewsHolder = createHolder();
+        KeyDiff<String> keyDiff = viewsHolder.updateKeys(Arrays.asList("a", "b", "c"), false);
+
+        assertEquals(Arrays.asList("a", "b", "c"), keyDiff.getAddedKeys());
+        assertEquals(0, keyDiff.getKeptCount());
+        assertEquals(0, keyDiff.getRemovedCount());
+        assertTrue(keyDiff.hasChanges());
+        assertEquals(Arrays.asList("a", "b", "c"), keysOf(viewsHolder));
+    }
+
+    @Test
+    public void setKeys_insert() {
+        ViewsHolder<String> viewsHolder = createHolder();
+        viewsHolder.updateKeys(Arrays.asList("a", "c"), false);
+        KeyDiff<String> keyDiff = viewsHolder.updateKeys(Arrays.asList("a", "b", "c"), false);
+
+        assertEquals(Collections.singletonList("b"), keyDiff.getAddedKeys());
+        assertEquals(Arrays.asList("a", "c"), keyDiff.getKeptKeys());
+        assertEquals(0, keyDiff.getRemovedCount());
+        assertEquals(Arrays.asList("a", "b", "c"), keysOf(viewsHolder));
+    }
+
+    @Test
+    public void setKeys_remove() {
+        ViewsHolder<String> viewsHolder = createHolder();
+        viewsHolder.updateKeys(Arrays.asList("a", "b", "c"), false);
+        KeyDiff<String> keyDiff = viewsHolder.updateKeys(Arrays.asList("a", "c"), false);
+
+        assertEquals(Collections.singletonList("b"), keyDiff.getRemovedKeys());
+        assertEquals(Arrays.asList("a", "c"), keyDiff.getKeptKeys());
+        assertEquals(0, keyDiff.getAddedCount());
+        assertEquals(Arrays.asList("a", "c"), keysOf(viewsHolder));
+    }
+
+    @Test
+    public void setKeys_moveKeepsHolders() {
+        ViewsHolder<String> viewsHolder = createHolder();
+        viewsHolder.updateKeys(Arrays.asList("a", "b", "c"), false);
+        ViewHolder holder = viewsHolder.getViewHolder("a");
+
+        KeyDiff<String> keyDiff = viewsHolder.updateKeys(Arrays.asList("c", "a", "b"), false);
+
+        assertFalse(keyDiff.hasChanges());
+        assertEquals(Arrays.asList("c", "a", "b"), keyDiff.getKeptKeys());
+        assertSame(holder, viewsHolder.getViewHolder("a"));
+    }
+
+    @Test
+    public void setKeys_nullAndDuplicateKeysAreIgnored() {
+        ViewsHolder<String> viewsHolder = createHolder();
+        KeyDiff<String> keyDiff = viewsHolder.updateKeys(Arrays.asList("a", null, "a", "b"), false);
+
+        assertEquals(Arrays.asList("a", "b"), keyDiff.getAddedKeys());
+        assertEquals(Arrays.asList("a", "b"), keysOf(viewsHolder));
+
+        keyDiff = viewsHolder.updateKeys(Arrays.asList((String) null), false);
+
+        assertEquals(Arrays.asList("a", "b"), sorted(keyDiff.getRemovedKeys()));
+        assertEquals(0, keyDiff.getAddedCount());
+        assertEquals(0, viewsHolder.getSize());
+    }
+
+    @Test
+    public void setKeys_nullCollectionIsNoOp() {
+        ViewsHolder<String> viewsHolder = createHolder();
+        viewsHolder.updateKeys(Arrays.asList("a", "b"), false);
+        KeyDiff<String> keyDiff = viewsHolder.updateKeys(null, false);
+
+        assertFalse(keyDiff.hasChanges());
+        assertEquals(Arrays.asList("a", "b"), keysOf(viewsHolder));
+    }
+
+    @Test
+    public void updateKeys_unchangedKeysDoNothing() {
+        final ArrayList<String> boundKeys = new ArrayList<>();
+        ViewsHolder<String> viewsHolder = createBindingHolder(boundKeys);
+
+        viewsHolder.updateKeys(Arrays.asList("a", "b"));
+        assertEquals(Arrays.asList("a", "b"), sorted(boundKeys));
+
+        boundKeys.clear();
+        KeyDiff<String> keyDiff = viewsHolder.updateKeys(Arrays.asList("b", "a"), true, true);
+
+        assertFalse(keyDiff.hasChanges());
+        assertTrue(boundKeys.isEmpty());
+    }
+
+    @Test
+    public void updateKeys_createsOnlyAddedKeys() {
+        final ArrayList<String> boundKeys = new ArrayList<>();
+        ViewsHolder<String> viewsHolder = createBindingHolder(boundKeys);
+
+        viewsHolder.updateKeys(Arrays.asList("a", "b"));
+        boundKeys.clear();
+        viewsHolder.updateKeys(Arrays.asList("a", "c", "c", "b"));
+
+        assertEquals(Collections.singletonList("c"), boundKeys);
+    }
+
+    @Test
+    public void setKeys_keepsTheListOverloads() {
+        final ArrayList<String> boundKeys = new ArrayList<>();
+        ViewsHolder<String> viewsHolder = createBindingHolder(boundKeys);
+
+        viewsHolder.setKeys(new ArrayList<>(Arrays.asList("a", "b")));
+
+        assertEquals(Arrays.asList("a", "b"), keysOf(viewsHolder));
+        assertEquals(Arrays.asList("a", "b"), sorted(boundKeys));
+    }
+
+    private static ViewsHolder<String> createBindingHolder(final List<String> boundKeys) {
+        return new ViewsHolder<String>(new ContextWrapper(null)) {
+            @Override
+            protected View createHolder(String key, ViewGroup parentView) {
+                return new View(getContext());
+            }
+
+            @Override
+            protected void bindHolder(String key, View contentView) {
+                boundKeys.add(key);
+            }
+        };
+    }
+
+    private static List<String> sorted(List<String> keys) {
+        ArrayList<String> sortedKeys = new ArrayList<>(keys);
+        Collections.sort(sortedKeys);
+        return sortedKeys;
+    }
+}
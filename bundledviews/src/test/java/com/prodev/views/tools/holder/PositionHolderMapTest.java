@@ -0,0 +1,224 @@
+package com.prodev.views.tools.holder;
+
+import android.content.ContextWrapper;
+import android.view.View;
+import android.view.ViewGroup;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+public class PositionHolderMapTest {
+    private static ViewsHolder<Integer> createHolder(final List<Integer> destroyedKeys) {
+        return new ViewsHolder<Integer>(new ContextWrapper(null), ViewsHolder.STORAGE_POSITIONS) {
+            @Override
+            protected View createHolder(Integer key, ViewGroup parentView) {
+                return null;
+            }
+
+            @Override
+            protected void bindHolder(Integer key, View contentView) {
+            }
+
+            @Override
+            protected void destroyViewHolder(Integer key, ViewHolder viewHolder) {
+                destroyedKeys.add(key);
+            }
+        };
+    }
+
+    private static List<Integer> keysOf(ViewsHolder<Integer> viewsHolder) {
+        ArrayList<Integer> keys = new ArrayList<>();
+        Iterator<Integer> keyIterator = viewsHolder.keyIterator();
+        while (keyIterator.hasNext())
+            keys.add(keyIterator.next());
+        return keys;
+    }
+
+    @Test
+    public void setKeyCount_growsAndShrinks() {
+        ArrayList<Integer> destroyedKeys = new ArrayList<>();
+        ViewsHolder<Integer> viewsHolder = createHolder(destroyedKeys);
+
+        viewsHolder.setKeyCount(20, false);
+        assertEquals(20, viewsHolder.getSize());
+        assertEquals(20, viewsHolder.getKeyLimit());
+        assertTrue(viewsHolder.hasViewHolder(19));
+
+        viewsHolder.setKeyCount(3, false);
+        assertEquals(Arrays.asList(0, 1, 2), keysOf(viewsHolder));
+        assertEquals(17, destroyedKeys.size());
+        assertFalse(viewsHolder.hasViewHolder(3));
+    }
+
+    @Test
+    public void moveKeys_keepsHoldersAndDestroysRemovedOnes() {
+        ArrayList<Integer> destroyedKeys = new ArrayList<>();
+        ViewsHolder<Integer> viewsHolder = createHolder(destroyedKeys);
+        viewsHolder.setKeyCount(3, false);
+
+        ViewHolder first = viewsHolder.getViewHolder(0);
+        ViewHolder third = viewsHolder.getViewHolder(2);
+        viewsHolder.moveKeys(new int[]{2, -1, 0});
+
+        assertSame(first, viewsHolder.getViewHolder(2));
+        assertSame(third, viewsHolder.getViewHolder(0));
+        assertEquals(Arrays.asList(1), destroyedKeys);
+        assertFalse(viewsHolder.hasViewHolder(1));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void moveKeys_rejectsCollisions() {
+        ViewsHolder<Integer> viewsHolder = createHolder(new ArrayList<Integer>());
+        viewsHolder.setKeyCount(2, false);
+        viewsHolder.moveKeys(new int[]{1, 1});
+    }
+
+    @Test
+    public void negativeKeysHaveNoHolder() {
+        ViewsHolder<Integer> viewsHolder = createHolder(new ArrayList<Integer>());
+
+        assertNull(viewsHolder.getViewHolder(-1));
+        assertEquals(0, viewsHolder.getSize());
+    }
+
+    @Test
+    public void positionAccessorsMatchKeyedAccessors() {
+        ViewsHolder<Integer> viewsHolder = createHolder(new ArrayList<Integer>());
+        viewsHolder.setKeyCount(300, false);
+
+        assertTrue(viewsHolder.hasViewHolderAt(299));
+        assertFalse(viewsHolder.hasViewHolderAt(300));
+        assertFalse(viewsHolder.hasViewHolderAt(-1));
+        assertSame(viewsHolder.getViewHolder(200), viewsHolder.getViewHolderAt(200));
+        assertNull(viewsHolder.getViewHolderAt(-1));
+        assertNull(viewsHolder.getContentViewAt(5));
+
+        assertNotNull(viewsHolder.getViewHolderAt(300));
+        assertEquals(301, viewsHolder.getKeyLimit());
+    }
+
+    @Test
+    public void moveKeys_rekeysMovedHolders() {
+        final ArrayList<Integer> boundKeys = new ArrayList<>();
+        ViewsHolder<Integer> viewsHolder = new ViewsHolder<Integer>(new ContextWrapper(null), ViewsHolder.STORAGE_POSITIONS) {
+            @Override
+            protected View createHolder(Integer key, ViewGroup parentView) {
+                return new View(getContext());
+            }
+
+            @Override
+            protected void bindHolder(Integer key, View contentView) {
+                boundKeys.add(key);
+            }
+        };
+        viewsHolder.setKeyCount(200);
+        viewsHolder.moveKeys(new int[]{199});
+        boundKeys.clear();
+
+        assertTrue(viewsHolder.createAll(true));
+        assertEquals(Arrays.asList(199), boundKeys);
+    }
+
+    @Test
+    public void rangesWorkOnPositions() {
+        ViewsHolder<Integer> viewsHolder = createHolder(new ArrayList<Integer>());
+        viewsHolder.setKeyCount(6, false);
+
+        assertTrue(viewsHolder.isOrdered());
+        assertEquals(Integer.valueOf(0), viewsHolder.getFirstKey());
+        assertEquals(Integer.valueOf(5), viewsHolder.getLastKey());
+        assertEquals(Arrays.asList(2, 3, 4), viewsHolder.getKeyRange(2, 4));
+    }
+
+    @Test
+    public void rangesSkipMissingPositionsAndSwapBounds() {
+        ViewsHolder<Integer> viewsHolder = createHolder(new ArrayList<Integer>());
+        viewsHolder.setKeyCount(8, false);
+        viewsHolder.removeViewHolder(0);
+        viewsHolder.removeViewHolder(3);
+
+        assertNull(viewsHolder.getKeyComparator());
+        assertEquals(Integer.valueOf(1), viewsHolder.getFirstKey());
+        assertEquals(Arrays.asList(2, 4, 5), viewsHolder.getKeyRange(5, 2));
+        assertEquals(Arrays.asList(6, 7), viewsHolder.getKeyRange(6, null));
+        assertEquals(Arrays.asList(1, 2), viewsHolder.getKeyRange(null, 2));
+        assertTrue(viewsHolder.getKeyRange(20, 30).isEmpty());
+        assertFalse(viewsHolder.createRange(4, Integer.MAX_VALUE));
+        assertEquals(6, viewsHolder.getSize());
+    }
+
+    @Test
+    public void destroyOutside_destroysOnlyCreatedPositionsOutsideTheWindow() {
+        final ArrayList<Integer> destroyedKeys = new ArrayList<>();
+        ViewsHolder<Integer> viewsHolder = new ViewsHolder<Integer>(new ContextWrapper(null), ViewsHolder.STORAGE_POSITIONS) {
+            @Override
+            protected View createHolder(Integer key, ViewGroup parentView) {
+                return new View(getContext());
+            }
+
+            @Override
+            protected void bindHolder(Integer key, View contentView) {
+            }
+
+            @Override
+            protected void destroyViewHolder(Integer key, ViewHolder viewHolder) {
+                destroyedKeys.add(key);
+            }
+        };
+        viewsHolder.setKeyCount(10, false);
+        viewsHolder.createRange(1, 8);
+
+        assertEquals(4, viewsHolder.destroyOutside(3, 6));
+        assertEquals(0, viewsHolder.destroyOutside(3, 6));
+        assertEquals(0, viewsHolder.destroyOutside(0, Integer.MAX_VALUE));
+        assertEquals(10, viewsHolder.getSize());
+        assertEquals(Arrays.asList(1, 2, 7, 8), destroyedKeys);
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void keyCountsRequirePositionalStorage() {
+        ViewsHolder<Integer> viewsHolder = new ViewsHolder<Integer>(new ContextWrapper(null)) {
+            @Override
+            protected View createHolder(Integer key, ViewGroup parentView) {
+                return null;
+            }
+
+            @Override
+            protected void bindHolder(Integer key, View contentView) {
+            }
+        };
+        viewsHolder.setKeyCount(1, false);
+    }
+
+    @Test
+    public void map_iteratesInKeyOrderAndSupportsRemoval() {
+        PositionHolderMap holderMap = new PositionHolderMap();
+        ViewsHolder<Integer> viewsHolder = createHolder(new ArrayList<Integer>());
+        for (int key : new int[]{40, 3, 17, 0})
+            holderMap.put(key, viewsHolder.createViewHolder(key, viewsHolder.getContext(), null));
+
+        assertEquals(4, holderMap.size());
+        assertEquals(41, holderMap.getLimit());
+
+        ArrayList<Integer> keys = new ArrayList<>();
+        Iterator<Map.Entry<Integer, ViewHolder>> entryIterator = holderMap.entrySet().iterator();
+        while (entryIterator.hasNext()) {
+            int key = entryIterator.next().getKey();
+            keys.add(key);
+            if (key == 40) entryIterator.remove();
+        }
+
+        assertEquals(Arrays.asList(0, 3, 17, 40), keys);
+        assertEquals(3, holderMap.size());
+        assertEquals(18, holderMap.getLimit());
+        assertNull(holderMap.get(40));
+        assertNull(holderMap.get("0"));
+    }
+}
@@ -0,0 +1,136 @@
+package com.prodev.views.tools.holder;
+
+import android.content.ContextWrapper;
+import android.view.View;
+import android.view.ViewGroup;
+import android.widget.LinearLayout;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class ViewsHolderTransactionTest {
+    private static ViewsHolder<String> createHolder() {
+        ViewsHolder<String> viewsHolder = new ViewsHolder<String>(new ContextWrapper(null)) {
+            @Override
+            protected View createHolder(String key, ViewGroup parentView) {
+                return key.startsWith("empty") ? null : new View(getContext());
+            }
+
+            @Override
+            protected void bindHolder(String key, View contentView) {
+            }
+        };
+        viewsHolder.setParentView(new LinearLayout(viewsHolder.getContext()));
+        return viewsHolder;
+    }
+
+    @Test
+    public void queuedAttach_requiresAContentView() {
+        ViewsHolder<String> viewsHolder = createHolder();
+        viewsHolder.create("tab");
+        viewsHolder.create("empty");
+
+        viewsHolder.beginTransaction();
+        assertTrue(viewsHolder.attach("tab"));
+        assertFalse(viewsHolder.attach("empty"));
+        assertFalse(viewsHolder.attach("uncreated"));
+        assertTrue(viewsHolder.commit());
+        assertFalse(viewsHolder.isInTransaction());
+    }
+
+    @Test
+    public void queuedDetach_requiresAContentView() {
+        ViewsHolder<String> viewsHolder = createHolder();
+        viewsHolder.create("tab");
+
+        viewsHolder.beginTransaction();
+        assertTrue(viewsHolder.detach("tab"));
+        assertFalse(viewsHolder.detach("missing"));
+        assertFalse(viewsHolder.hasViewHolder("missing"));
+        assertTrue(viewsHolder.commit());
+    }
+
+    @Test
+    public void nestedTransactions_commitOnce() {
+        ViewsHolder<String> viewsHolder = createHolder();
+
+        viewsHolder.beginTransaction();
+        viewsHolder.beginTransaction();
+        assertTrue(viewsHolder.commit());
+        assertTrue(viewsHolder.isInTransaction());
+        assertTrue(viewsHolder.commit());
+        assertFalse(viewsHolder.isInTransaction());
+        assertFalse(viewsHolder.commit());
+    }
+
+    @Test
+    public void commit_addsInKeyOrderWithOneLayoutRequest() {
+        final HashMap<View, String> viewKeys = new HashMap<>();
+        ViewsHolder<String> viewsHolder = new ViewsHolder<String>(new ContextWrapper(null)) {
+            @Override
+            protected View createHolder(String key, ViewGroup parentView) {
+                View view = new View(getContext());
+                viewKeys.put(view, key);
+                return view;
+            }
+
+            @Override
+            protected void bindHolder(String key, View contentView) {
+            }
+        };
+        BatchLayout parentView = new BatchLayout(viewsHolder, viewKeys);
+        viewsHolder.setParentView(parentView);
+        viewsHolder.create("c");
+        viewsHolder.create("a");
+        viewsHolder.create("b");
+
+        viewsHolder.beginTransaction();
+        viewsHolder.attach("c", 0);
+        viewsHolder.attach("b");
+        viewsHolder.attach("a", 1);
+        assertTrue(viewsHolder.commit());
+
+        assertEquals(Arrays.asList("a", "b", "c"), parentView.addedKeys);
+        assertEquals(0, parentView.addViewCalls);
+        assertEquals(1, parentView.layoutRequests);
+    }
+
+    private static class BatchLayout extends LinearLayout implements ViewsHolder.BatchParent {
+        private final HashMap<View, String> viewKeys;
+        private final List<String> addedKeys = new ArrayList<>();
+        private int addViewCalls;
+        private int layoutRequests;
+
+        private BatchLayout(ViewsHolder<String> viewsHolder, HashMap<View, String> viewKeys) {
+            super(viewsHolder.getContext());
+
+            this.viewKeys = viewKeys;
+        }
+
+        @Override
+        public boolean addViewInBatch(View child, int index, ViewGroup.LayoutParams params) {
+            addedKeys.add(viewKeys.get(child));
+            return true;
+        }
+
+        @Override
+        public void removeViewsInBatch(int start, int count) {
+        }
+
+        @Override
+        public void addView(View child, int index) {
+            addViewCalls++;
+        }
+
+        @Override
+        public void requestLayout() {
+            layoutRequests++;
+        }
+    }
+}